@@ -0,0 +1,56 @@
+package com.cloudfullstack.product.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cloudfullstack.product.dto.CreateProductRequest;
+import com.cloudfullstack.product.entity.Product;
+
+// Deterministic catalog shared by the benchmarks
+final class BenchmarkData {
+
+    private static final String[] WORDS = {
+        "Wireless", "Phone", "Case", "Laptop", "Stand", "Coffee", "Grinder", "Running",
+        "Shoes", "Desk", "Lamp", "Camera", "Lens", "Backpack", "Keyboard", "Monitor"
+    };
+
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Sports", "Office"};
+
+    private BenchmarkData() {
+    }
+
+    static String title(int i) {
+        return WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i;
+    }
+
+    static CreateProductRequest request(int i) {
+        return new CreateProductRequest(
+            title(i),
+            "Benchmark product number " + i + " with a description of typical length for the catalog.",
+            BigDecimal.valueOf(100 + i % 90_000, 2),
+            "STORE-" + (i % 50),
+            CATEGORIES[i % CATEGORIES.length],
+            i % 500);
+    }
+
+    static Product product(int i) {
+        CreateProductRequest request = request(i);
+        Product product = new Product(request.getTitle(), request.getDescription(), request.getPrice(),
+            request.getStoreId(), request.getCategory(), request.getStock());
+        product.setId((long) i);
+        product.setActive(true);
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+        product.setUpdatedAt(product.getCreatedAt());
+        return product;
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+}
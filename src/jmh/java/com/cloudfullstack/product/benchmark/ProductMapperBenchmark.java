@@ -0,0 +1,48 @@
+package com.cloudfullstack.product.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.mapper.ProductMapper;
+import com.cloudfullstack.product.mapper.ProductMapperImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int listSize;
+
+    private ProductMapper mapper;
+    private Product product;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        mapper = new ProductMapperImpl();
+        product = BenchmarkData.product(1);
+        products = BenchmarkData.products(listSize);
+    }
+
+    @Benchmark
+    public ProductResponse toResponse() {
+        return mapper.toResponse(product);
+    }
+
+    @Benchmark
+    public List<ProductResponse> toResponseList() {
+        return mapper.toResponseList(products);
+    }
+}
@@ -0,0 +1,89 @@
+package com.cloudfullstack.product.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.cloudfullstack.product.converter.ProductProtobuf;
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.mapper.ProductMapperImpl;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// Time per page for each negotiable response format; the payload size of each
+// format is reported as the "bytes" secondary result, so byte and CPU savings come
+// from one run
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    private ObjectWriter writer;
+    private Page<ProductResponse> page;
+
+    @Setup
+    public void setUp() {
+        // Same Jackson settings as the converters Spring Boot configures for the web layer
+        writer = switch (format) {
+            case "cbor" -> writer(new CBORFactory());
+            case "smile" -> writer(new SmileFactory());
+            default -> writer(new JsonFactory());
+        };
+        // ProductController returns the Page itself, so serialize it the same way
+        page = new PageImpl<>(
+            new ProductMapperImpl().toResponseList(BenchmarkData.products(pageSize)),
+            PageRequest.of(0, pageSize), pageSize * 100L);
+    }
+
+    @Benchmark
+    public byte[] serializePage(PayloadSize size) throws IOException {
+        byte[] payload;
+        if ("protobuf".equals(format)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ProductProtobuf.writePage(page, out);
+            payload = out.toByteArray();
+        } else {
+            payload = writer.writeValueAsBytes(page);
+        }
+        size.bytes = payload.length;
+        return payload;
+    }
+
+    // Assigned rather than accumulated, so the reported value is the size of one page
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+    }
+
+    private static ObjectWriter writer(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+            .factory(factory)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build()
+            .writer();
+    }
+}
@@ -0,0 +1,126 @@
+package com.cloudfullstack.product.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import com.cloudfullstack.product.ProductApplication;
+import com.cloudfullstack.product.config.CacheConfig;
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.service.ProductImportService;
+import com.cloudfullstack.product.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Service and repository hot paths against an in-memory H2 catalog of
+ * catalogSize products, seeded through the bulk import path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductRepository productRepository;
+    private Cache productCache;
+    private String productUuid;
+    private int deepPage;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        context = new SpringApplicationBuilder(ProductApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.profiles.active=benchmark",
+                 "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                 "--spring.jpa.show-sql=false",
+                 "--logging.level.root=WARN",
+                 "--logging.level.com.cloudfullstack=WARN");
+
+        productService = context.getBean(ProductService.class);
+        productRepository = context.getBean(ProductRepository.class);
+        productCache = context.getBean(CacheManager.class).getCache(CacheConfig.PRODUCTS_CACHE);
+
+        seed(context.getBean(ProductImportService.class), context.getBean(ObjectMapper.class));
+
+        List<Product> sample = productRepository.findAll();
+        productUuid = sample.get(sample.size() / 2).getProductUuid();
+        deepPage = Math.max(0, catalogSize / 20 - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ColdCache {
+
+        @Setup(Level.Invocation)
+        public void evict(ProductServiceBenchmark benchmark) {
+            benchmark.productCache.evict(benchmark.productUuid);
+        }
+    }
+
+    @Benchmark
+    public ProductResponse getProductByUuidColdCache(ColdCache coldCache) {
+        return productService.getProductByUuid(productUuid);
+    }
+
+    @Benchmark
+    public ProductResponse getProductByUuidWarmCache() {
+        return productService.getProductByUuid(productUuid);
+    }
+
+    @Benchmark
+    public List<Product> searchByTitleDatabase() {
+        return productRepository.searchByTitle("lamp");
+    }
+
+    @Benchmark
+    public List<ProductResponse> searchProductsIndexed() {
+        return productService.searchProducts("lamp", 0, 20);
+    }
+
+    @Benchmark
+    public Page<ProductResponse> getAllProductsFirstPage() {
+        return productService.getAllProducts(0, 20, "createdAt", "desc", true);
+    }
+
+    @Benchmark
+    public Page<ProductResponse> getAllProductsLastPage() {
+        return productService.getAllProducts(deepPage, 20, "createdAt", "desc", true);
+    }
+
+    private void seed(ProductImportService importService, ObjectMapper objectMapper) throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < catalogSize; i++) {
+            body.append(objectMapper.writeValueAsString(BenchmarkData.request(i))).append('\n');
+        }
+        importService.importProducts(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
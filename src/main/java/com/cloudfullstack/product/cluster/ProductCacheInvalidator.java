@@ -0,0 +1,192 @@
+package com.cloudfullstack.product.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.cloudfullstack.product.config.CacheConfig;
+import com.cloudfullstack.product.config.ClusterCacheProperties;
+import com.cloudfullstack.product.config.HibernateCacheConfig;
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.repository.ProductChangeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps this instance's product caches coherent with changes made on other instances.
+ *
+ * Every mutation already writes a record to the product_changes outbox in its own
+ * transaction, so the outbox doubles as the broadcast channel: each instance polls
+ * it for records after the last one it has seen and evicts those products from its
+ * products cache. Records this instance wrote are skipped, as @CacheEvict has already
+ * handled them. Only changed products are evicted, so the near cache keeps its hit rate.
+ *
+ * Each invalidation is versioned by its change-feed cursor. An invalidation at or
+ * below the last version applied for that product is stale (a duplicate, or one
+ * delivered out of order) and is dropped, so it cannot evict an entry loaded after
+ * a newer change. Hibernate's second-level cache is local too: the changed products'
+ * entity entries are evicted by id, and the product query regions, whose results
+ * cannot be matched to products, are cleared.
+ *
+ * A load on this instance that read a product before the change committed can put
+ * the old row back after the eviction. Every eviction is therefore repeated after
+ * product.cluster-cache.reevict-delay, which drops such late entries.
+ *
+ * Outcomes are counted as product.cache.invalidations{outcome=applied|stale|own}.
+ */
+@Component
+public class ProductCacheInvalidator implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCacheInvalidator.class);
+
+    private final ProductChangeRepository productChangeRepository;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ClusterCacheProperties properties;
+    private final Cache<String, Long> appliedVersions;
+
+    private final Counter applied;
+    private final Counter stale;
+    private final Counter own;
+
+    // Highest version read from the outbox; only the polling thread moves it
+    private volatile long cursor;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public ProductCacheInvalidator(ProductChangeRepository productChangeRepository, CacheManager cacheManager,
+                                   EntityManagerFactory entityManagerFactory, ClusterCacheProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.productChangeRepository = productChangeRepository;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = properties;
+        this.appliedVersions = Caffeine.newBuilder()
+            .maximumSize(properties.getVersionTrackingSize())
+            .build();
+
+        this.applied = invalidations(meterRegistry, "applied");
+        this.stale = invalidations(meterRegistry, "stale");
+        this.own = invalidations(meterRegistry, "own");
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // Nothing is cached yet, so changes made before this instance started do not matter
+        cursor = productChangeRepository.findMaxSeq();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-cache-invalidator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("Cluster cache invalidation started as instance {} from version {}",
+            properties.getInstanceId(), cursor);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    // Read and apply everything the outbox has after the cursor
+    public void poll() {
+        try {
+            List<ProductInvalidation> batch;
+            do {
+                batch = productChangeRepository.findInvalidationsAfter(cursor,
+                    PageRequest.of(0, properties.getBatchSize()));
+                apply(batch);
+            } while (batch.size() == properties.getBatchSize());
+        } catch (RuntimeException ex) {
+            logger.warn("Polling product invalidations failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Evicts the products of invalidations from other instances, unless a newer
+     * invalidation for the same product has already been applied here. Called by
+     * one thread at a time (the poller).
+     */
+    public void apply(List<ProductInvalidation> invalidations) {
+        List<ProductInvalidation> evicted = new ArrayList<>();
+        for (ProductInvalidation invalidation : invalidations) {
+            cursor = Math.max(cursor, invalidation.version());
+            if (properties.getInstanceId().equals(invalidation.origin())) {
+                own.increment();
+                continue;
+            }
+
+            Long last = appliedVersions.getIfPresent(invalidation.productUuid());
+            if (last != null && last >= invalidation.version()) {
+                stale.increment();
+                continue;
+            }
+            appliedVersions.put(invalidation.productUuid(), invalidation.version());
+            applied.increment();
+            evicted.add(invalidation);
+        }
+        if (evicted.isEmpty()) {
+            return;
+        }
+
+        evict(evicted);
+        ScheduledExecutorService current = scheduler;
+        if (current != null) {
+            current.schedule(() -> evict(evicted), properties.getReevictDelay().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void evict(List<ProductInvalidation> invalidations) {
+        org.springframework.cache.Cache productCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (ProductInvalidation invalidation : invalidations) {
+            if (productCache != null) {
+                productCache.evict(invalidation.productUuid());
+            }
+            if (invalidation.productId() != null) {
+                secondLevelCache.evictEntityData(Product.class, invalidation.productId());
+            }
+        }
+        secondLevelCache.evictQueryRegion(HibernateCacheConfig.STORE_QUERY_REGION);
+        secondLevelCache.evictQueryRegion(HibernateCacheConfig.CATEGORY_QUERY_REGION);
+    }
+
+    private static Counter invalidations(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("product.cache.invalidations")
+            .description("Product invalidations read from the outbox, by what this instance did with them")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cloudfullstack.product.cluster;
+
+// Invalidation message for one product. productId keys its second-level cache entry
+// (null if the row is gone); version is the change-feed cursor of the change, so it
+// grows with commit order; origin is the instance that made it.
+public record ProductInvalidation(String productUuid, Long productId, long version, String origin) {
+}
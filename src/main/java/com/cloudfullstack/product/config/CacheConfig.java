@@ -0,0 +1,85 @@
+package com.cloudfullstack.product.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.mapper.ProductMapper;
+import com.cloudfullstack.product.metrics.MeteredCaffeineCache;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+
+    // Rough per-entry overhead of a ProductResponse plus its fixed-size fields
+    private static final int BASE_ENTRY_BYTES = 256;
+
+    @Bean
+    public CacheManager cacheManager(ProductCacheProperties properties,
+                                     ProductRepository productRepository,
+                                     ProductMapper productMapper,
+                                     MeterRegistry meterRegistry) {
+        // Count hits and misses per endpoint on top of Caffeine's own statistics
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                                               com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new MeteredCaffeineCache(name, cache, isAllowNullValues(), meterRegistry);
+            }
+        };
+        cacheManager.registerCustomCache(PRODUCTS_CACHE,
+            productCacheBuilder(properties).build(productLoader(productRepository, productMapper)));
+        return cacheManager;
+    }
+
+    // Caffeine accepts either a size or a weight bound, not both. Every entry is
+    // weighed at least maximumWeight / maximumSize, so one weight budget caps the
+    // entry count and the estimated heap footprint at the same time.
+    Caffeine<Object, Object> productCacheBuilder(ProductCacheProperties properties) {
+        long minimumEntryWeight = Math.max(1, properties.getMaximumWeight() / properties.getMaximumSize());
+
+        return Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumWeight())
+            .weigher(productWeigher(minimumEntryWeight))
+            .expireAfterWrite(properties.getExpireAfterWrite())
+            .refreshAfterWrite(properties.getRefreshAfterWrite())
+            .recordStats();
+    }
+
+    private Weigher<Object, Object> productWeigher(long minimumEntryWeight) {
+        return (key, value) -> {
+            long estimate = BASE_ENTRY_BYTES;
+            if (value instanceof ProductResponse product) {
+                estimate += 2L * length(product.getTitle())
+                    + 2L * length(product.getDescription())
+                    + 2L * length(product.getStoreId())
+                    + 2L * length(product.getCategory());
+            }
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(minimumEntryWeight, estimate));
+        };
+    }
+
+    // Used for refresh-ahead only; misses go through @Cacheable(sync = true)
+    private CacheLoader<Object, Object> productLoader(ProductRepository productRepository,
+                                                     ProductMapper productMapper) {
+        return key -> productRepository.findByProductUuid((String) key)
+            .map(productMapper::toResponse)
+            .orElse(null);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
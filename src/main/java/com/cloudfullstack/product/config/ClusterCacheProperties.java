@@ -0,0 +1,32 @@
+package com.cloudfullstack.product.config;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.cluster-cache")
+public class ClusterCacheProperties {
+
+    // Evict products changed on other instances from this instance's caches
+    private boolean enabled = false;
+
+    // Identifies this instance's changes in the outbox, so it skips its own invalidations
+    private String instanceId = UUID.randomUUID().toString();
+
+    // How often the outbox is polled for changes made elsewhere
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    // Invalidations read per poll
+    private int batchSize = 1_000;
+
+    // Products whose last applied invalidation version is remembered, to drop stale ones
+    private long versionTrackingSize = 100_000;
+
+    // Evictions are repeated after this delay, dropping rows that a load which read them before
+    // the change committed cached after the first eviction; longer than the slowest product load
+    private Duration reevictDelay = Duration.ofSeconds(1);
+}
@@ -0,0 +1,84 @@
+package com.cloudfullstack.product.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache for Product entities plus query caches for the store
+ * and category finders, held in bounded Caffeine caches (through JCache) sized per
+ * region by product.second-level-cache.regions.
+ *
+ * Invalidation is Hibernate's own: every product mutation goes through the managed
+ * entity, so only that product's entry is updated (the purchase UPDATE, which
+ * bypasses the entity, evicts just its row), and any write to the products table
+ * makes every cached query result for it stale. Hit and miss counts per region are
+ * published as hibernate.second.level.cache.requests and hibernate.query.cache.requests.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String PRODUCT_REGION = "product";
+    public static final String STORE_QUERY_REGION = "product-store-queries";
+    public static final String CATEGORY_QUERY_REGION = "product-category-queries";
+
+    private static final List<String> BOUNDED_REGIONS = List.of(PRODUCT_REGION, STORE_QUERY_REGION,
+        CATEGORY_QUERY_REGION, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    // One JCache manager per application context; the default URI would be shared by
+    // every context in the JVM and refuse to create the same regions twice
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String name : BOUNDED_REGIONS) {
+            SecondLevelCacheProperties.Region region =
+                properties.getRegions().getOrDefault(name, new SecondLevelCacheProperties.Region());
+            cacheManager.createCache(name, new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setMaximumSize(OptionalLong.of(region.getMaximumSize()))
+                .setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos())));
+        }
+        // Must outlive every cached query result, so neither bounded nor expiring (one entry per table)
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+            new CaffeineConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(SecondLevelCacheProperties properties,
+                                                                   CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            if (!properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            hibernateProperties.putAll(Map.of(
+                AvailableSettings.USE_SECOND_LEVEL_CACHE, true,
+                AvailableSettings.USE_QUERY_CACHE, true,
+                AvailableSettings.CACHE_REGION_FACTORY, "jcache",
+                ConfigSettings.CACHE_MANAGER, hibernateCacheManager,
+                ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation(),
+                // Feeds the per-region meters
+                AvailableSettings.GENERATE_STATISTICS, true));
+        };
+    }
+}
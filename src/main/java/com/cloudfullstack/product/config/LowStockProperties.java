@@ -0,0 +1,19 @@
+package com.cloudfullstack.product.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.low-stock")
+public class LowStockProperties {
+
+    // Stock levels watched in memory; an alert is pushed whenever a product crosses one
+    private List<Integer> thresholds = List.of(5, 10);
+
+    // How long a low-stock event stream stays open before the client has to reconnect
+    private Duration streamTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,50 @@
+package com.cloudfullstack.product.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.cloudfullstack.product.converter.ProductProtobufHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Binary response formats picked by the Accept header: application/cbor,
+ * application/x-jackson-smile and application/x-protobuf. JSON stays first in the
+ * converter list, so it is still what clients get when they accept anything.
+ *
+ * CBOR and Smile use the same Jackson settings as the JSON converter, so field names
+ * and date formats match the JSON documents.
+ */
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public MessageConverterConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVC registers CBOR and Smile when they are on the classpath, with plain Jackson defaults
+        converters.replaceAll(converter -> {
+            if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                return new MappingJackson2CborHttpMessageConverter(
+                    objectMapperBuilder.getObject().factory(new CBORFactory()).build());
+            }
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                return new MappingJackson2SmileHttpMessageConverter(
+                    objectMapperBuilder.getObject().factory(new SmileFactory()).build());
+            }
+            return converter;
+        });
+        converters.add(new ProductProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,30 @@
+package com.cloudfullstack.product.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The JDBC pool behind JPA when read/write routing is off (ReadWriteRoutingConfig
+ * declares its own otherwise).
+ *
+ * Spring Boot's DataSource auto-configuration backs off as soon as an R2DBC
+ * ConnectionFactory exists, which the reactive read API brings in, so the
+ * spring.datasource properties are bound and the pool is declared here instead.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class PrimaryDataSourceConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "product.datasource.routing-enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.cloudfullstack.product.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.batch-loader")
+public class ProductBatchLoaderProperties {
+
+    // Coalesce concurrent single-product cache misses into one IN query
+    private boolean enabled = false;
+
+    // How long the first miss waits for others to join its batch
+    private Duration window = Duration.ofMillis(2);
+
+    // A batch is dispatched immediately once it holds this many UUIDs
+    private int maxBatchSize = 100;
+}
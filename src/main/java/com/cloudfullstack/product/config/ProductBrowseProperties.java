@@ -0,0 +1,17 @@
+package com.cloudfullstack.product.config;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.browse")
+public class ProductBrowseProperties {
+
+    // Price facet boundaries: buckets are [0, 10), [10, 25), ... and [500, no limit)
+    private List<BigDecimal> priceBuckets = List.of(BigDecimal.valueOf(10), BigDecimal.valueOf(25),
+        BigDecimal.valueOf(50), BigDecimal.valueOf(100), BigDecimal.valueOf(250), BigDecimal.valueOf(500));
+}
@@ -0,0 +1,24 @@
+package com.cloudfullstack.product.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.cache")
+public class ProductCacheProperties {
+
+    // Upper bound on the number of cached products
+    private long maximumSize = 10_000;
+
+    // Upper bound on the estimated heap footprint of cached products, in bytes
+    private long maximumWeight = 64L * 1024 * 1024;
+
+    // Entries older than this are dropped and reloaded on next access
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    // Entries older than this are reloaded in the background on next access
+    private Duration refreshAfterWrite = Duration.ofMinutes(5);
+}
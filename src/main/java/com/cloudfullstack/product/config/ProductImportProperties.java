@@ -0,0 +1,16 @@
+package com.cloudfullstack.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.import")
+public class ProductImportProperties {
+
+    // Rows validated, inserted and committed together (also the JDBC batch size)
+    private int batchSize = 500;
+
+    // Row errors listed in the response; rows beyond it are only counted in failed
+    private int maxErrors = 1000;
+}
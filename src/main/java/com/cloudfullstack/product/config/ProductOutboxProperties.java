@@ -0,0 +1,24 @@
+package com.cloudfullstack.product.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.outbox")
+public class ProductOutboxProperties {
+
+    // How often committed changes get their feed cursor (the feed lags writes by up to this much)
+    private Duration sequenceInterval = Duration.ofMillis(200);
+
+    // Changes sequenced per transaction
+    private int batchSize = 1_000;
+
+    // Every change is kept this long; older ones are compacted to the latest per product
+    private Duration retention = Duration.ofHours(24);
+
+    // How often compaction runs
+    private Duration compactionInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,29 @@
+package com.cloudfullstack.product.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.uuid-filter")
+public class ProductUuidFilterProperties {
+
+    // Answer lookups of unknown product UUIDs with 404 before querying the database
+    private boolean enabled = true;
+
+    // Bloom filter capacity; the filter is sized for at least twice the products found at build time
+    private long expectedInsertions = 1_000_000;
+
+    // Target false-positive probability at capacity (false positives only cost the query they would have run anyway)
+    private double falsePositiveProbability = 0.01;
+
+    // How long a UUID the database did not know is answered from memory
+    private Duration negativeCacheTtl = Duration.ofSeconds(10);
+
+    private long negativeCacheMaximumSize = 100_000;
+
+    // UUIDs minted less than this before the filter was built (or by a clock this far behind) always reach the database
+    private Duration clockSkew = Duration.ofMinutes(1);
+}
@@ -0,0 +1,94 @@
+package com.cloudfullstack.product.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.cloudfullstack.product.datasource.ReadYourWrites;
+import com.cloudfullstack.product.datasource.ReplicaHealthChecker;
+import com.cloudfullstack.product.datasource.ReplicaHealthIndicator;
+import com.cloudfullstack.product.datasource.ReplicaRoutingDataSource;
+import com.cloudfullstack.product.datasource.ReplicaRoutingDataSource.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read/write splitting, enabled with product.datasource.routing-enabled=true.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy: it only fetches a
+ * physical connection at the first statement, after the transaction manager has
+ * marked the connection read-only or not. Read-only connections come from the
+ * replicas, everything else from the primary configured under spring.datasource.
+ * Callers keep using @Transactional(readOnly = true) as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "product.datasource.routing-enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReadWriteRoutingProperties properties) {
+        return new ReadYourWrites(properties.getReadYourWrites());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      ReadWriteRoutingProperties properties,
+                                                      ReadYourWrites readYourWrites,
+                                                      MeterRegistry meterRegistry) {
+        List<Replica> replicas = properties.getReplicas().stream()
+            .map(replica -> new Replica(replica.getName(), replicaPool(replica)))
+            .toList();
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource,
+                                 ReadYourWrites readYourWrites) {
+        LazyConnectionDataSourceProxy dataSource =
+            new LazyConnectionDataSourceProxy(readYourWrites.trackWrites(primaryDataSource));
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(HikariDataSource primaryDataSource,
+                                                     ReplicaRoutingDataSource replicaDataSource,
+                                                     ReadWriteRoutingProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        return new ReplicaHealthChecker(primaryDataSource, replicaDataSource, properties, meterRegistry);
+    }
+
+    @Bean
+    public ReplicaHealthIndicator replicasHealthIndicator(ReplicaRoutingDataSource replicaDataSource) {
+        return new ReplicaHealthIndicator(replicaDataSource);
+    }
+
+    private static HikariDataSource replicaPool(ReadWriteRoutingProperties.Replica replica) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(replica.getName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cloudfullstack.product.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.datasource")
+public class ReadWriteRoutingProperties {
+
+    // Send readOnly transactions to the replicas below; writes always use spring.datasource
+    private boolean routingEnabled = false;
+
+    // After a committed write, keep that client's reads on the primary this long (0 = off)
+    private Duration readYourWrites = Duration.ZERO;
+
+    // How often each replica is probed for connectivity and lag
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    // Replicas further behind the primary's heartbeat stop receiving reads (unset = no lag check)
+    private Duration maxLag;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        // Local H2 stand-in only: copy the primary's schema to this replica at startup
+        private boolean copySchemaFromPrimary = false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.cloudfullstack.product.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    // Cache Product entities and the store/category finder queries inside Hibernate
+    private boolean enabled = true;
+
+    // Bounds per Hibernate cache region, by region name (see HibernateCacheConfig)
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+
+        // Upper bound on the number of entries (entities, or result lists for query regions)
+        private long maximumSize = 1_000;
+
+        // Entries older than this are dropped and reloaded on next access
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+}
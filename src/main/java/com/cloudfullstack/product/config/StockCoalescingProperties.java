@@ -0,0 +1,24 @@
+package com.cloudfullstack.product.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "product.stock-coalescing")
+public class StockCoalescingProperties {
+
+    // Buffer stock sets per product and write only the last one (POST /{uuid}/stock answers 202)
+    private boolean enabled = false;
+
+    // Longest a buffered stock set waits before it is written
+    private Duration window = Duration.ofMillis(500);
+
+    // Flush early once this many products have a pending set (also the JDBC batch size)
+    private int maxBatchSize = 500;
+
+    // Failed writes of a batch before it is split in half; a single product is then dropped
+    private int maxAttempts = 3;
+}
@@ -0,0 +1,71 @@
+package com.cloudfullstack.product.controller;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.cloudfullstack.product.config.LowStockProperties;
+import com.cloudfullstack.product.dto.LowStockAlert;
+import com.cloudfullstack.product.index.LowStockWatch;
+
+// Fans low-stock alerts out to every connected Server-Sent Events client
+@Component
+class LowStockStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockStream.class);
+
+    static final String EVENT_NAME = "low-stock";
+
+    private final LowStockWatch lowStockWatch;
+    private final LowStockProperties properties;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    LowStockStream(LowStockWatch lowStockWatch, LowStockProperties properties) {
+        this.lowStockWatch = lowStockWatch;
+        this.properties = properties;
+    }
+
+    // New subscribers first receive every product that is currently low, then live alerts
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(ex -> emitters.remove(emitter));
+
+        emitters.add(emitter);
+        for (LowStockAlert alert : lowStockWatch.snapshot()) {
+            if (!send(emitter, alert)) {
+                break;
+            }
+        }
+        logger.info("Low-stock stream subscribed, {} active", emitters.size());
+        return emitter;
+    }
+
+    // Async so a slow client never holds up the transaction that triggered the alert
+    @Async
+    @EventListener
+    public void onAlert(LowStockAlert alert) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, alert);
+        }
+    }
+
+    private boolean send(SseEmitter emitter, LowStockAlert alert) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(alert));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            logger.debug("Dropping low-stock subscriber: {}", ex.getMessage());
+            emitters.remove(emitter);
+            return false;
+        }
+    }
+}
@@ -1,9 +1,21 @@
 package com.cloudfullstack.product.controller;
 
+import com.cloudfullstack.product.dto.BulkImportResponse;
 import com.cloudfullstack.product.dto.CreateProductRequest;
+import com.cloudfullstack.product.dto.ProductBrowsePage;
+import com.cloudfullstack.product.dto.ProductChangeFeed;
+import com.cloudfullstack.product.dto.ProductCursorPage;
 import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.dto.ProductStatsResponse;
 import com.cloudfullstack.product.dto.UpdateProductRequest;
+import com.cloudfullstack.product.entity.ProductStatsId.Dimension;
+import com.cloudfullstack.product.service.ProductChangeService;
+import com.cloudfullstack.product.service.ProductExportService;
+import com.cloudfullstack.product.service.ProductImportService;
 import com.cloudfullstack.product.service.ProductService;
+import com.cloudfullstack.product.service.ProductStatsService;
+import com.cloudfullstack.product.service.StockWriteCoalescer;
+import com.cloudfullstack.product.util.ProductUuids;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,13 +23,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -26,11 +48,28 @@ import java.util.List;
 @Validated
 public class ProductController {
 
+    private static final int MAX_BATCH_UUIDS = 100;
+
     private final ProductService productService;
+    private final ProductChangeService productChangeService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final ProductStatsService productStatsService;
+    private final StockWriteCoalescer stockWriteCoalescer;
+    private final LowStockStream lowStockStream;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductExportService productExportService,
+                             ProductImportService productImportService, ProductStatsService productStatsService,
+                             StockWriteCoalescer stockWriteCoalescer, LowStockStream lowStockStream,
+                             ProductChangeService productChangeService) {
         this.productService = productService;
+        this.productChangeService = productChangeService;
+        this.productExportService = productExportService;
+        this.productImportService = productImportService;
+        this.productStatsService = productStatsService;
+        this.stockWriteCoalescer = stockWriteCoalescer;
+        this.lowStockStream = lowStockStream;
     }
 
     @PostMapping
@@ -46,6 +85,17 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Bulk import products from a JSON array or NDJSON stream")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished, see per-row errors")
+    })
+    public ResponseEntity<BulkImportResponse> importProducts(InputStream body) throws IOException {
+        BulkImportResponse response = productImportService.importProducts(body);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     @Operation(summary = "Get all products with pagination")
     @ApiResponses(value = {
@@ -62,24 +112,89 @@ public class ProductController {
         @RequestParam(defaultValue = "createdAt") String sortBy,
 
         @Parameter(description = "Sort direction")
-        @RequestParam(defaultValue = "desc") String sortDirection) {
+        @RequestParam(defaultValue = "desc") String sortDirection,
+
+        @Parameter(description = "Include the product description")
+        @RequestParam(defaultValue = "true") boolean includeDescription) {
+
+        Page<ProductResponse> products = productService.getAllProducts(page, size, sortBy, sortDirection, includeDescription);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping(params = "uuids")
+    @Operation(summary = "Get several products by UUID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products found, in request order; unknown UUIDs are omitted"),
+        @ApiResponse(responseCode = "400", description = "Too many UUIDs")
+    })
+    public ResponseEntity<List<ProductResponse>> getProductsByUuids(
+        @Parameter(description = "Comma-separated product UUIDs (at most " + MAX_BATCH_UUIDS + ")")
+        @RequestParam @NotEmpty @Size(max = MAX_BATCH_UUIDS) List<String> uuids) {
+
+        List<ProductResponse> products = productService.getProductsByUuids(uuids);
+        return ProductETags.ok(products);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get several products by UUID (request body variant for long UUID lists)",
+        description = "Returns the same ETag as the GET lookup for the same UUIDs; If-None-Match is only "
+            + "answered with 304 on GET, so revalidate with GET when the UUIDs fit in the query string")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products found, in request order; unknown UUIDs are omitted"),
+        @ApiResponse(responseCode = "400", description = "Too many UUIDs")
+    })
+    public ResponseEntity<List<ProductResponse>> getProductsByUuidsBatch(
+        @RequestBody @NotEmpty @Size(max = MAX_BATCH_UUIDS) List<String> uuids) {
+
+        List<ProductResponse> products = productService.getProductsByUuids(uuids);
+        return ProductETags.ok(products);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get products with cursor-based pagination (newest first)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<ProductCursorPage> scrollProducts(
+        @Parameter(description = "Cursor from the previous page, omit for the first page")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Page size")
+        @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
 
-        Page<ProductResponse> products = productService.getAllProducts(page, size, sortBy, sortDirection);
+        ProductCursorPage products = productService.getProductsAfter(cursor, size);
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/changes")
+    @Operation(summary = "Get product changes after a cursor, oldest first",
+        description = "Incremental sync: start with since=0, then pass nextCursor. Each change names the "
+            + "product and its new stock; fetch current products with the batch lookup")
+    public ResponseEntity<ProductChangeFeed> getChanges(
+        @Parameter(description = "Cursor of the last change already processed, 0 for the start")
+        @RequestParam(defaultValue = "0") @Min(0) long since,
+
+        @Parameter(description = "Maximum number of changes")
+        @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+
+        return ResponseEntity.ok(productChangeService.getChanges(since, limit));
+    }
+
     @GetMapping("/{uuid}")
     @Operation(summary = "Get product by UUID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Product found"),
+        @ApiResponse(responseCode = "304", description = "Product not modified since the given ETag or date"),
         @ApiResponse(responseCode = "404", description = "Product not found")
     })
     public ResponseEntity<ProductResponse> getProduct(
         @Parameter(description = "Product UUID")
         @PathVariable String uuid) {
 
-        ProductResponse product = productService.getProductByUuid(uuid);
-        return ResponseEntity.ok(product);
+        // Served from the product cache, so a 304 needs no query and no serialization
+        ProductResponse product = productService.getProductByUuid(ProductUuids.canonical(uuid));
+        return ProductETags.ok(product);
     }
 
     @PutMapping("/{uuid}")
@@ -94,7 +209,7 @@ public class ProductController {
         @PathVariable String uuid,
         @Valid @RequestBody UpdateProductRequest request) {
 
-        ProductResponse response = productService.updateProduct(uuid, request);
+        ProductResponse response = productService.updateProduct(ProductUuids.canonical(uuid), request);
         return ResponseEntity.ok(response);
     }
 
@@ -108,7 +223,7 @@ public class ProductController {
         @Parameter(description = "Product UUID")
         @PathVariable String uuid) {
 
-        productService.deleteProduct(uuid);
+        productService.deleteProduct(ProductUuids.canonical(uuid));
         return ResponseEntity.noContent().build();
     }
 
@@ -116,31 +231,194 @@ public class ProductController {
     @Operation(summary = "Get products by store")
     public ResponseEntity<List<ProductResponse>> getProductsByStore(
         @Parameter(description = "Store ID")
-        @PathVariable String storeId) {
+        @PathVariable String storeId,
 
-        List<ProductResponse> products = productService.getProductsByStore(storeId);
-        return ResponseEntity.ok(products);
+        @Parameter(description = "Include the product description")
+        @RequestParam(defaultValue = "true") boolean includeDescription) {
+
+        List<ProductResponse> products = productService.getProductsByStore(storeId, includeDescription);
+        return ProductETags.ok(products);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export active products as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+        @Parameter(description = "Store ID, omit to export the whole catalog")
+        @RequestParam(required = false) String storeId) {
+
+        StreamingResponseBody body = out -> productExportService.exportProducts(storeId, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search products by title")
     public ResponseEntity<List<ProductResponse>> searchProducts(
         @Parameter(description = "Search term")
-        @RequestParam String title) {
+        @RequestParam String title,
+
+        @Parameter(description = "Page number (0-based)")
+        @RequestParam(defaultValue = "0") @Min(0) int page,
+
+        @Parameter(description = "Maximum number of results")
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
 
-        List<ProductResponse> products = productService.searchProducts(title);
+        List<ProductResponse> products = productService.searchProducts(title, page, size);
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/price-range")
+    @Operation(summary = "Browse active products by price range, cheapest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid price range")
+    })
+    public ResponseEntity<List<ProductResponse>> browseProductsByPrice(
+        @Parameter(description = "Minimum price (inclusive)")
+        @RequestParam(defaultValue = "0") @DecimalMin("0") BigDecimal minPrice,
+
+        @Parameter(description = "Maximum price (inclusive)")
+        @RequestParam @DecimalMin("0") BigDecimal maxPrice,
+
+        @Parameter(description = "Only products in this category")
+        @RequestParam(required = false) String category,
+
+        @Parameter(description = "Only products of this store")
+        @RequestParam(required = false) String storeId,
+
+        @Parameter(description = "Number of matching products to skip")
+        @RequestParam(defaultValue = "0") @Min(0) @Max(10_000) int offset,
+
+        @Parameter(description = "Maximum number of results")
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+
+        List<ProductResponse> products =
+            productService.browseProductsByPrice(minPrice, maxPrice, category, storeId, offset, limit);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/browse")
+    @Operation(summary = "Browse active products by category, store and price, cheapest first, with facet counts",
+        description = "Returns one page of matching products plus product counts per category, store and "
+            + "price bucket. Each facet counts the products matching every filter except its own")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products and facets retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid price range")
+    })
+    public ResponseEntity<ProductBrowsePage> browseProducts(
+        @Parameter(description = "Only products in this category")
+        @RequestParam(required = false) String category,
+
+        @Parameter(description = "Only products of this store")
+        @RequestParam(required = false) String storeId,
+
+        @Parameter(description = "Minimum price (inclusive)")
+        @RequestParam(defaultValue = "0") @DecimalMin("0") BigDecimal minPrice,
+
+        @Parameter(description = "Maximum price (inclusive), no limit if omitted")
+        @RequestParam(required = false) @DecimalMin("0") BigDecimal maxPrice,
+
+        @Parameter(description = "Page number (0-based)")
+        @RequestParam(defaultValue = "0") @Min(0) @Max(10_000) int page,
+
+        @Parameter(description = "Page size")
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        return ResponseEntity.ok(productService.browseProducts(category, storeId, minPrice, maxPrice, page, size));
+    }
+
+    @GetMapping("/low-stock")
+    @Operation(summary = "Get active products with stock below a threshold, lowest stock first")
+    public ResponseEntity<List<ProductResponse>> getLowStockProducts(
+        @Parameter(description = "Stock threshold (exclusive)")
+        @RequestParam(defaultValue = "10") @Min(1) Integer threshold) {
+
+        List<ProductResponse> products = productService.getLowStockProducts(threshold);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping(value = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream low-stock alerts (Server-Sent Events)",
+        description = "Sends every currently low product first, then an event each time a product "
+            + "crosses one of the configured thresholds")
+    public SseEmitter streamLowStock() {
+        return lowStockStream.subscribe();
+    }
+
+    @GetMapping("/stats/stores/{storeId}")
+    @Operation(summary = "Get maintained counters for a store (active products, total stock, stock value)")
+    public ResponseEntity<ProductStatsResponse> getStoreStats(
+        @Parameter(description = "Store ID")
+        @PathVariable String storeId) {
+
+        return ResponseEntity.ok(productStatsService.getStats(Dimension.STORE, storeId));
+    }
+
+    @GetMapping("/stats/stores")
+    @Operation(summary = "Get maintained counters for every store")
+    public ResponseEntity<List<ProductStatsResponse>> getAllStoreStats() {
+        return ResponseEntity.ok(productStatsService.getAllStats(Dimension.STORE));
+    }
+
+    @GetMapping("/stats/categories/{category}")
+    @Operation(summary = "Get maintained counters for a category (active products, total stock, stock value)")
+    public ResponseEntity<ProductStatsResponse> getCategoryStats(
+        @Parameter(description = "Category name")
+        @PathVariable String category) {
+
+        return ResponseEntity.ok(productStatsService.getStats(Dimension.CATEGORY, category));
+    }
+
+    @GetMapping("/stats/categories")
+    @Operation(summary = "Get maintained counters for every category")
+    public ResponseEntity<List<ProductStatsResponse>> getAllCategoryStats() {
+        return ResponseEntity.ok(productStatsService.getAllStats(Dimension.CATEGORY));
+    }
+
+    @PostMapping("/stats/reconcile")
+    @Operation(summary = "Recount all store and category counters from the products table")
+    public ResponseEntity<Void> reconcileStats() {
+        productStatsService.reconcile();
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/{uuid}/stock")
     @Operation(summary = "Update product stock")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock updated"),
+        @ApiResponse(responseCode = "202", description = "Stock update buffered for coalescing"),
+        @ApiResponse(responseCode = "404", description = "Product not found")
+    })
     public ResponseEntity<Void> updateStock(
         @Parameter(description = "Product UUID")
         @PathVariable String uuid,
         @Parameter(description = "New stock quantity")
         @RequestParam @Min(0) Integer quantity) {
 
-        productService.updateStock(uuid, quantity);
+        String productUuid = ProductUuids.canonical(uuid);
+        if (stockWriteCoalescer.isEnabled()) {
+            stockWriteCoalescer.submit(productUuid, quantity);
+            return ResponseEntity.accepted().build();
+        }
+        productService.updateStock(productUuid, quantity);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/{uuid}/purchase")
+    @Operation(summary = "Purchase product (reduce stock)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock reduced successfully"),
+        @ApiResponse(responseCode = "400", description = "Insufficient stock or invalid quantity"),
+        @ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    public ResponseEntity<Void> purchaseProduct(
+        @Parameter(description = "Product UUID")
+        @PathVariable String uuid,
+        @Parameter(description = "Quantity to purchase")
+        @RequestParam @Min(1) Integer quantity) {
+
+        productService.reduceStock(ProductUuids.canonical(uuid), quantity);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
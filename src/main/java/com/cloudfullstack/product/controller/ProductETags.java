@@ -0,0 +1,65 @@
+package com.cloudfullstack.product.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+
+/**
+ * Validators for conditional GETs. Every product mutation moves updatedAt, so a
+ * product's ETag and Last-Modified come from its updatedAt alone. A listing's ETag
+ * hashes the (uuid, updatedAt) pairs of its members; listings get no Last-Modified
+ * because a product leaving the list does not move the newest updatedAt in it.
+ * Spring answers matching If-None-Match / If-Modified-Since with 304 before the
+ * body is serialized. The validators do not depend on the negotiated format, so
+ * the ETags are weak: JSON, CBOR, Smile and Protobuf bodies of the same product
+ * are equivalent but not byte-identical, which a strong ETag would promise (and
+ * Range requests would rely on). Vary: Accept keeps the representations apart
+ * in caches.
+ */
+final class ProductETags {
+
+    private static final Instant EPOCH = Instant.EPOCH;
+
+    private ProductETags() {
+    }
+
+    static ResponseEntity<ProductResponse> ok(ProductResponse product) {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT)
+            .eTag(weak(Long.toHexString(ChronoUnit.MICROS.between(EPOCH, toInstant(product.getUpdatedAt())))))
+            .lastModified(toInstant(product.getUpdatedAt()))
+            .body(product);
+    }
+
+    static <T extends Collection<ProductResponse>> ResponseEntity<T> ok(T products) {
+        StringBuilder state = new StringBuilder().append(products.size());
+        for (ProductResponse product : products) {
+            state.append('|').append(product.getProductUuid()).append('@').append(product.getUpdatedAt());
+        }
+
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT)
+            .eTag(weak(DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8))))
+            .body(products);
+    }
+
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime == null ? EPOCH : dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,114 @@
+package com.cloudfullstack.product.controller;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.service.ReactiveProductService;
+import com.cloudfullstack.product.util.ProductUuids;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the read endpoints of {@link ProductController}.
+ *
+ * Handlers return Mono/Flux, so the servlet thread is released while the query runs
+ * on the R2DBC pool instead of holding a JDBC connection. Bounded results are written
+ * as one JSON array. /stream writes each product as soon as it is read and only
+ * requests the next row once the previous one has been handed to the connection, so
+ * a slow reader slows its own query down instead of buffering the result set.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/products")
+@Tag(name = "Product Reads (reactive)", description = "Non-blocking read APIs for products")
+@Validated
+public class ReactiveProductController {
+
+    private final ReactiveProductService reactiveProductService;
+
+    public ReactiveProductController(ReactiveProductService reactiveProductService) {
+        this.reactiveProductService = reactiveProductService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get a page of products")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown sort field or page out of range")
+    })
+    public Flux<ProductResponse> getAllProducts(
+        @Parameter(description = "Page number (0-based)")
+        @RequestParam(defaultValue = "0") @Min(0) @Max(10_000) int page,
+
+        @Parameter(description = "Page size")
+        @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size,
+
+        @Parameter(description = "Sort field")
+        @RequestParam(defaultValue = "createdAt") String sortBy,
+
+        @Parameter(description = "Sort direction")
+        @RequestParam(defaultValue = "desc") String sortDirection,
+
+        @Parameter(description = "Include the product description")
+        @RequestParam(defaultValue = "true") boolean includeDescription) {
+
+        return reactiveProductService.getAllProducts(page, size, sortBy, sortDirection, includeDescription);
+    }
+
+    @GetMapping("/{uuid}")
+    @Operation(summary = "Get product by UUID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Product found"),
+        @ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    public Mono<ProductResponse> getProduct(
+        @Parameter(description = "Product UUID")
+        @PathVariable String uuid) {
+
+        return reactiveProductService.getProductByUuid(ProductUuids.canonical(uuid));
+    }
+
+    @GetMapping("/store/{storeId}")
+    @Operation(summary = "Get products by store")
+    public Flux<ProductResponse> getProductsByStore(
+        @Parameter(description = "Store ID")
+        @PathVariable String storeId,
+
+        @Parameter(description = "Include the product description")
+        @RequestParam(defaultValue = "true") boolean includeDescription) {
+
+        return reactiveProductService.getProductsByStore(storeId, includeDescription);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search products by title")
+    public Flux<ProductResponse> searchProducts(
+        @Parameter(description = "Search term")
+        @RequestParam String title,
+
+        @Parameter(description = "Page number (0-based)")
+        @RequestParam(defaultValue = "0") @Min(0) @Max(10_000) int page,
+
+        @Parameter(description = "Maximum number of results")
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        return reactiveProductService.searchProducts(title, page, size);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all active products as newline-delimited JSON")
+    public Flux<ProductResponse> streamProducts(
+        @Parameter(description = "Store ID, omit to stream the whole catalog")
+        @RequestParam(required = false) String storeId) {
+
+        return reactiveProductService.streamProducts(storeId);
+    }
+}
@@ -0,0 +1,156 @@
+package com.cloudfullstack.product.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+
+import org.springframework.data.domain.Page;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.util.ProductUuids;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Protobuf encoding of product responses following src/main/proto/product.proto.
+ * Fields are written straight from the DTO with CodedOutputStream, so no generated
+ * message objects are built per product. Field numbers must stay in sync with the schema.
+ */
+public final class ProductProtobuf {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
+    private static final int LIST_PRODUCTS = 1;
+
+    private static final int PAGE_CONTENT = 1;
+    private static final int PAGE_NUMBER = 2;
+    private static final int PAGE_SIZE = 3;
+    private static final int PAGE_TOTAL_ELEMENTS = 4;
+    private static final int PAGE_TOTAL_PAGES = 5;
+
+    private ProductProtobuf() {
+    }
+
+    public static void writeProduct(ProductResponse product, OutputStream out) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(out);
+        writeFields(product, output);
+        output.flush();
+    }
+
+    public static void writeList(Collection<ProductResponse> products, OutputStream out) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(out);
+        for (ProductResponse product : products) {
+            writeNested(LIST_PRODUCTS, product, output);
+        }
+        output.flush();
+    }
+
+    public static void writePage(Page<ProductResponse> page, OutputStream out) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(out);
+        for (ProductResponse product : page.getContent()) {
+            writeNested(PAGE_CONTENT, product, output);
+        }
+        output.writeInt32(PAGE_NUMBER, page.getNumber());
+        output.writeInt32(PAGE_SIZE, page.getSize());
+        output.writeInt64(PAGE_TOTAL_ELEMENTS, page.getTotalElements());
+        output.writeInt32(PAGE_TOTAL_PAGES, page.getTotalPages());
+        output.flush();
+    }
+
+    private static void writeNested(int field, ProductResponse product, CodedOutputStream output) throws IOException {
+        output.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(size(product));
+        writeFields(product, output);
+    }
+
+    // proto3 leaves out fields holding their default value, and so does this
+    private static void writeFields(ProductResponse product, CodedOutputStream output) throws IOException {
+        if (product.getProductUuid() != null) {
+            output.writeBytes(1, uuid(product));
+        }
+        if (hasText(product.getTitle())) {
+            output.writeString(2, product.getTitle());
+        }
+        if (product.getDescription() != null) {
+            output.writeString(3, product.getDescription());
+        }
+        if (cents(product.getPrice()) != 0) {
+            output.writeInt64(4, cents(product.getPrice()));
+        }
+        if (hasText(product.getStoreId())) {
+            output.writeString(5, product.getStoreId());
+        }
+        if (hasText(product.getCategory())) {
+            output.writeString(6, product.getCategory());
+        }
+        if (product.getStock() != null && product.getStock() != 0) {
+            output.writeInt32(7, product.getStock());
+        }
+        if (Boolean.TRUE.equals(product.getActive())) {
+            output.writeBool(8, true);
+        }
+        if (micros(product.getCreatedAt()) != 0) {
+            output.writeInt64(9, micros(product.getCreatedAt()));
+        }
+        if (micros(product.getUpdatedAt()) != 0) {
+            output.writeInt64(10, micros(product.getUpdatedAt()));
+        }
+    }
+
+    private static int size(ProductResponse product) {
+        int size = 0;
+        if (product.getProductUuid() != null) {
+            size += CodedOutputStream.computeBytesSize(1, uuid(product));
+        }
+        if (hasText(product.getTitle())) {
+            size += CodedOutputStream.computeStringSize(2, product.getTitle());
+        }
+        if (product.getDescription() != null) {
+            size += CodedOutputStream.computeStringSize(3, product.getDescription());
+        }
+        if (cents(product.getPrice()) != 0) {
+            size += CodedOutputStream.computeInt64Size(4, cents(product.getPrice()));
+        }
+        if (hasText(product.getStoreId())) {
+            size += CodedOutputStream.computeStringSize(5, product.getStoreId());
+        }
+        if (hasText(product.getCategory())) {
+            size += CodedOutputStream.computeStringSize(6, product.getCategory());
+        }
+        if (product.getStock() != null && product.getStock() != 0) {
+            size += CodedOutputStream.computeInt32Size(7, product.getStock());
+        }
+        if (Boolean.TRUE.equals(product.getActive())) {
+            size += CodedOutputStream.computeBoolSize(8, true);
+        }
+        if (micros(product.getCreatedAt()) != 0) {
+            size += CodedOutputStream.computeInt64Size(9, micros(product.getCreatedAt()));
+        }
+        if (micros(product.getUpdatedAt()) != 0) {
+            size += CodedOutputStream.computeInt64Size(10, micros(product.getUpdatedAt()));
+        }
+        return size;
+    }
+
+    private static ByteString uuid(ProductResponse product) {
+        return ByteString.copyFrom(ProductUuids.toBytes(product.getProductUuid()));
+    }
+
+    private static long cents(BigDecimal price) {
+        return price == null ? 0 : price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : ChronoUnit.MICROS.between(EPOCH, dateTime);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
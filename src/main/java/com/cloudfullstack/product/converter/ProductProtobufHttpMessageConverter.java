@@ -0,0 +1,99 @@
+package com.cloudfullstack.product.converter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+
+/**
+ * Writes ProductResponse, List&lt;ProductResponse&gt; and Page&lt;ProductResponse&gt; as
+ * application/x-protobuf (messages ProductResponse, ProductList and ProductPage of
+ * product.proto). Response bodies only; requests stay JSON.
+ */
+@SuppressWarnings("unchecked")
+public class ProductProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    public ProductProtobufHttpMessageConverter() {
+        super(PROTOBUF, MediaType.parseMediaType("application/protobuf"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProductResponse.class.isAssignableFrom(clazz);
+    }
+
+    // Only collections and pages whose element type is known to be ProductResponse
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        if (ProductResponse.class.isAssignableFrom(resolved.toClass())) {
+            return true;
+        }
+        if (Collection.class.isAssignableFrom(resolved.toClass())) {
+            return isProduct(resolved.as(Collection.class).getGeneric(0));
+        }
+        if (Page.class.isAssignableFrom(resolved.toClass())) {
+            return isProduct(resolved.as(Page.class).getGeneric(0));
+        }
+        return false;
+    }
+
+    // Asked with the raw value class (e.g. PageImpl) after canWrite has checked the generic type
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        if (supports(clazz) || Collection.class.isAssignableFrom(clazz) || Page.class.isAssignableFrom(clazz)) {
+            return getSupportedMediaTypes();
+        }
+        return List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof ProductResponse product) {
+            ProductProtobuf.writeProduct(product, outputMessage.getBody());
+        } else if (body instanceof Page<?> page) {
+            ProductProtobuf.writePage((Page<ProductResponse>) page, outputMessage.getBody());
+        } else {
+            ProductProtobuf.writeList((Collection<ProductResponse>) body, outputMessage.getBody());
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    private static boolean isProduct(ResolvableType elementType) {
+        return ProductResponse.class.isAssignableFrom(elementType.toClass());
+    }
+}
@@ -0,0 +1,120 @@
+package com.cloudfullstack.product.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes stickiness for replica routing. When a write transaction commits
+ * during a request, the response carries a short-lived cookie; read-only transactions
+ * of requests presenting that cookie (and of the rest of the writing request) go to
+ * the primary until it expires, so a client never reads a replica that has not yet
+ * caught up with its own change.
+ */
+public class ReadYourWrites {
+
+    public static final String COOKIE = "product-primary-until";
+
+    private static final String PINNED_ATTRIBUTE = ReadYourWrites.class.getName() + ".PINNED";
+
+    private final Duration window;
+
+    public ReadYourWrites(Duration window) {
+        this.window = window;
+    }
+
+    public boolean isEnabled() {
+        return window.isPositive();
+    }
+
+    // Wrap the primary so every connection taken by a write transaction pins the client on commit
+    public DataSource trackWrites(DataSource primary) {
+        if (!isEnabled()) {
+            return primary;
+        }
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                onWriteConnection();
+                return super.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                onWriteConnection();
+                return super.getConnection(username, password);
+            }
+        };
+    }
+
+    public boolean isPinnedToPrimary() {
+        if (!isEnabled() || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getAttribute(PINNED_ATTRIBUTE) != null) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void onWriteConnection() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+            && TransactionSynchronizationManager.isSynchronizationActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pinCurrentClient();
+                }
+            });
+        }
+    }
+
+    private void pinCurrentClient() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getAttribute(PINNED_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE);
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + window.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, (window.toMillis() + 999) / 1000));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.cloudfullstack.product.datasource;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.cloudfullstack.product.config.ReadWriteRoutingProperties;
+import com.cloudfullstack.product.datasource.ReplicaRoutingDataSource.Replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Probes every replica on a fixed delay and marks it healthy or not for routing.
+ *
+ * A replica must hand out a valid connection. When product.datasource.max-lag is
+ * set, the primary also bumps the one-row replication_heartbeat table (part of the
+ * schema, see db/migration/replication_heartbeat.sql) on every round; a replica's
+ * lag is how far its replicated copy of that row trails the primary's, and replicas
+ * beyond max-lag stop receiving reads until they catch up.
+ */
+public class ReplicaHealthChecker implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthChecker.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas;
+    private final ReadWriteRoutingProperties properties;
+
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaHealthChecker(DataSource primary, ReplicaRoutingDataSource replicaDataSource,
+                                ReadWriteRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicaDataSource.getReplicas();
+        this.properties = properties;
+
+        for (Replica replica : replicas) {
+            Gauge.builder("product.datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                .description("Whether the replica currently receives reads")
+                .tag("replica", replica.getName())
+                .register(meterRegistry);
+            Gauge.builder("product.datasource.replica.lag", replica,
+                    r -> r.getLag() == null ? Double.NaN : r.getLag().toMillis() / 1000.0)
+                .description("Replica lag behind the primary heartbeat")
+                .baseUnit("seconds")
+                .tag("replica", replica.getName())
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void start() {
+        copySchemas();
+        checkAll();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHealthCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    void checkAll() {
+        Timestamp primaryBeat = null;
+        if (properties.getMaxLag() != null) {
+            try {
+                primaryBeat = beat();
+            } catch (RuntimeException ex) {
+                logger.warn("Could not write replication heartbeat on the primary: {}", ex.getMessage());
+            }
+        }
+
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.isHealthy();
+            Duration lag = null;
+            boolean healthy;
+            try {
+                healthy = isValid(replica);
+                if (healthy && properties.getMaxLag() != null) {
+                    lag = lag(replica, primaryBeat);
+                    healthy = lag != null && lag.compareTo(properties.getMaxLag()) <= 0;
+                }
+            } catch (RuntimeException ex) {
+                logger.debug("Replica {} check failed", replica.getName(), ex);
+                healthy = false;
+            }
+            replica.update(healthy, lag);
+
+            if (wasHealthy && !healthy) {
+                logger.warn("Replica {} removed from read routing (lag: {})", replica.getName(), lag);
+            } else if (!wasHealthy && healthy) {
+                logger.info("Replica {} receiving reads (lag: {})", replica.getName(), lag);
+            }
+        }
+    }
+
+    private Timestamp beat() {
+        if (primary.update("UPDATE replication_heartbeat SET beat_at = CURRENT_TIMESTAMP WHERE id = 1") == 0) {
+            primary.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP)");
+        }
+        return primary.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Timestamp.class);
+    }
+
+    // Lag is measured against the primary's own heartbeat, so server clocks need not agree
+    private Duration lag(Replica replica, Timestamp primaryBeat) {
+        if (primaryBeat == null) {
+            return null;
+        }
+        try {
+            Timestamp replicaBeat = new JdbcTemplate(replica.getDataSource())
+                .queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Timestamp.class);
+            Duration lag = Duration.ofMillis(primaryBeat.getTime() - replicaBeat.getTime());
+            return lag.isNegative() ? Duration.ZERO : lag;
+        } catch (EmptyResultDataAccessException ex) {
+            return null;
+        }
+    }
+
+    private boolean isValid(Replica replica) {
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (Exception ex) {
+            logger.debug("Replica {} unreachable: {}", replica.getName(), ex.getMessage());
+            return false;
+        }
+    }
+
+    // H2 only: gives a local in-memory replica the tables Hibernate created on the primary
+    private void copySchemas() {
+        for (ReadWriteRoutingProperties.Replica config : properties.getReplicas()) {
+            if (!config.isCopySchemaFromPrimary()) {
+                continue;
+            }
+            Replica replica = replicas.stream()
+                .filter(candidate -> candidate.getName().equals(config.getName()))
+                .findFirst()
+                .orElseThrow();
+            List<String> statements = primary.queryForList("SCRIPT NODATA", String.class);
+            JdbcTemplate target = new JdbcTemplate(replica.getDataSource());
+            target.execute("DROP ALL OBJECTS");
+            statements.stream()
+                .filter(statement -> !statement.startsWith("--"))
+                .forEach(target::execute);
+            logger.info("Copied primary schema to replica {} ({} statements)", replica.getName(), statements.size());
+        }
+    }
+}
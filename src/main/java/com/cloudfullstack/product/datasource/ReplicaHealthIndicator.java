@@ -0,0 +1,36 @@
+package com.cloudfullstack.product.datasource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import com.cloudfullstack.product.datasource.ReplicaRoutingDataSource.Replica;
+
+// Reports each replica's routing state under /actuator/health. Stays UP while replicas are
+// out, because reads then fall back to the primary rather than failing.
+public class ReplicaHealthIndicator implements HealthIndicator {
+
+    private final ReplicaRoutingDataSource replicaDataSource;
+
+    public ReplicaHealthIndicator(ReplicaRoutingDataSource replicaDataSource) {
+        this.replicaDataSource = replicaDataSource;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        long healthy = 0;
+        for (Replica replica : replicaDataSource.getReplicas()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("healthy", replica.isHealthy());
+            details.put("lagMs", replica.getLag() == null ? null : replica.getLag().toMillis());
+            builder.withDetail(replica.getName(), details);
+            if (replica.isHealthy()) {
+                healthy++;
+            }
+        }
+        return builder.withDetail("readsOnPrimary", healthy == 0).build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.cloudfullstack.product.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk import result")
+public class BulkImportResponse {
+
+    @Schema(description = "Rows read from the request", example = "100000")
+    private long received;
+
+    @Schema(description = "Rows inserted", example = "99998")
+    private long imported;
+
+    @Schema(description = "Rows rejected, including those beyond the listed errors", example = "2")
+    private long failed;
+
+    @Schema(description = "Per-row errors, at most product.import.max-errors of them")
+    private List<RowError> errors;
+
+    @Schema(description = "Total import time in milliseconds", example = "5400")
+    private long durationMillis;
+
+    @Schema(description = "Inserted rows per second", example = "18518.1")
+    private double rowsPerSecond;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Error for a single imported row")
+    public static class RowError {
+
+        @Schema(description = "Zero-based position of the row in the request", example = "42")
+        private long row;
+
+        @Schema(description = "Error messages for the row")
+        private List<String> messages;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cloudfullstack.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Pushed when a product's stock crosses a low-stock threshold")
+public class LowStockAlert {
+
+    @Schema(description = "Product UUID", example = "01890a5d-ac96-774b-bcce-b302099a8057")
+    private String productUuid;
+
+    @Schema(description = "Stock quantity after the change", example = "3")
+    private int stock;
+
+    @Schema(description = "Lowest threshold the stock is now below; null once it is above every threshold "
+        + "or the product was deleted", example = "5")
+    private Integer threshold;
+}
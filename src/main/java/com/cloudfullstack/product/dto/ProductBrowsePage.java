@@ -0,0 +1,67 @@
+package com.cloudfullstack.product.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of active products, cheapest first, with facet counts for the same filters")
+public class ProductBrowsePage {
+
+    @Schema(description = "Products on this page")
+    private List<ProductResponse> content;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private int page;
+
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+
+    @Schema(description = "Number of products matching every filter", example = "137")
+    private long totalElements;
+
+    @Schema(description = "Number of pages", example = "7")
+    private int totalPages;
+
+    @Schema(description = "Product counts per category, store and price bucket")
+    private Facets facets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Each facet counts the products matching every filter except its own")
+    public static class Facets {
+
+        @Schema(description = "Products per category, most first", example = "{\"Electronics\": 42, \"Books\": 17}")
+        private Map<String, Long> categories;
+
+        @Schema(description = "Products per store, most first", example = "{\"STORE-001\": 30}")
+        private Map<String, Long> stores;
+
+        @Schema(description = "Products per price bucket, cheapest bucket first")
+        private List<PriceBucket> prices;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Products priced from (inclusive) up to to (exclusive)")
+    public static class PriceBucket {
+
+        @Schema(description = "Lower bound, inclusive", example = "10.00")
+        private BigDecimal from;
+
+        @Schema(description = "Upper bound, exclusive; null for the last bucket", example = "25.00")
+        private BigDecimal to;
+
+        @Schema(description = "Number of products in the bucket", example = "12")
+        private long count;
+    }
+}
@@ -0,0 +1,24 @@
+package com.cloudfullstack.product.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Product changes after a cursor, oldest first")
+public class ProductChangeFeed {
+
+    @Schema(description = "Changes on this page")
+    private List<ProductChangeResponse> changes;
+
+    @Schema(description = "Pass as since on the next call", example = "1042")
+    private long nextCursor;
+
+    @Schema(description = "Whether more changes are available right away", example = "false")
+    private boolean hasMore;
+}
@@ -0,0 +1,30 @@
+package com.cloudfullstack.product.dto;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One product change from the change feed")
+public class ProductChangeResponse {
+
+    @Schema(description = "Cursor of this change; pass the last one seen as since", example = "1042")
+    private long cursor;
+
+    @Schema(description = "Changed product", example = "01890a5d-ac96-774b-bcce-b302099a8057")
+    private String productUuid;
+
+    @Schema(description = "CREATED, UPDATED, STOCK_CHANGED or DELETED", example = "STOCK_CHANGED")
+    private String type;
+
+    @Schema(description = "Stock after the change; null for DELETED", example = "95")
+    private Integer stock;
+
+    @Schema(description = "When the change was made")
+    private LocalDateTime changedAt;
+}
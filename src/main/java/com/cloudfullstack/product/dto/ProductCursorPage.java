@@ -0,0 +1,27 @@
+package com.cloudfullstack.product.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor-based page of products (no total count)")
+public class ProductCursorPage {
+
+    @Schema(description = "Products on this page")
+    private List<ProductResponse> content;
+
+    @Schema(description = "Opaque token for the next page, null when there are no more products")
+    private String nextCursor;
+
+    @Schema(description = "Whether another page is available", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Requested page size", example = "10")
+    private int size;
+}
@@ -0,0 +1,30 @@
+package com.cloudfullstack.product.dto;
+
+import java.math.BigDecimal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Maintained product counters for one store or category")
+public class ProductStatsResponse {
+
+    @Schema(description = "What the counters are grouped by", example = "STORE")
+    private String dimension;
+
+    @Schema(description = "Store ID or category name", example = "STORE-001")
+    private String key;
+
+    @Schema(description = "Number of active products", example = "42")
+    private long activeCount;
+
+    @Schema(description = "Sum of stock over active products", example = "1250")
+    private long totalStock;
+
+    @Schema(description = "Sum of stock * price over active products", example = "48999.50")
+    private BigDecimal stockValue;
+}
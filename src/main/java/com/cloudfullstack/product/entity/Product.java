@@ -2,28 +2,40 @@ package com.cloudfullstack.product.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.cloudfullstack.product.config.HibernateCacheConfig;
+import com.cloudfullstack.product.util.ProductUuids;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity
 @Table(name = "products", indexes = {
     @Index(name = "idx_product_store", columnList = "storeId"),
-    @Index(name = "idx_product_category", columnList = "category")
+    @Index(name = "idx_product_category", columnList = "category"),
+    @Index(name = "idx_product_price", columnList = "price"),
+    @Index(name = "idx_product_created_id", columnList = "createdAt, id")
 })
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PRODUCT_REGION)
 public class Product {
 
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
-    @Column(name = "product_uuid", unique = true, nullable = false)
-    private String productUuid = UUID.randomUUID().toString();
+    // Time-ordered UUIDv7, stored as BINARY(16) and exposed as the canonical string
+    @Convert(converter = ProductUuidConverter.class)
+    @Column(name = "product_uuid", unique = true, nullable = false, columnDefinition = "BINARY(16)")
+    private String productUuid = ProductUuids.newUuid();
 
     @Column(name = "title", nullable = false)
     @NotBlank(message = "Product title cannot be empty")
@@ -0,0 +1,76 @@
+package com.cloudfullstack.product.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One outbox record per product mutation, written in the mutating transaction by
+// ProductChangeService. seq (the change-feed cursor) is assigned after commit by
+// ProductChangeSequencer, so it increases in commit order.
+@Entity
+@Table(name = "product_changes", indexes = {
+    @Index(name = "idx_product_change_seq", columnList = "seq", unique = true),
+    @Index(name = "idx_product_change_product", columnList = "product_uuid, seq")
+})
+public class ProductChange {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STOCK_CHANGED,
+        DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_change_id_seq")
+    @SequenceGenerator(name = "product_change_id_seq", sequenceName = "product_change_id_seq", allocationSize = 50)
+    private Long id;
+
+    // Null until sequenced
+    @Column(name = "seq")
+    private Long seq;
+
+    @Convert(converter = ProductUuidConverter.class)
+    @Column(name = "product_uuid", nullable = false, columnDefinition = "BINARY(16)")
+    private String productUuid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private Type type;
+
+    // New quantity for STOCK_CHANGED, current stock for CREATED and UPDATED
+    @Column(name = "stock")
+    private Integer stock;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Instance that made the change (product.cluster-cache.instance-id)
+    @Column(name = "origin", length = 64)
+    private String origin;
+
+    // Sequencers on other instances cannot renumber a record this one has already sequenced
+    @Version
+    private int version;
+
+    public ProductChange() {}
+
+    public ProductChange(String productUuid, Type type, Integer stock, String origin) {
+        this.productUuid = productUuid;
+        this.type = type;
+        this.stock = stock;
+        this.origin = origin;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+
+    public Long getSeq() { return seq; }
+    public void setSeq(Long seq) { this.seq = seq; }
+
+    public String getProductUuid() { return productUuid; }
+    public Type getType() { return type; }
+    public Integer getStock() { return stock; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public String getOrigin() { return origin; }
+}
@@ -0,0 +1,41 @@
+package com.cloudfullstack.product.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+// Maintained counters for one store or category, kept in step with products by
+// ProductStatsService inside each mutating transaction
+@Entity
+@Table(name = "product_stats")
+public class ProductStats {
+
+    @EmbeddedId
+    private ProductStatsId id;
+
+    @Column(name = "active_count", nullable = false)
+    private long activeCount;
+
+    @Column(name = "total_stock", nullable = false)
+    private long totalStock;
+
+    @Column(name = "stock_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal stockValue = BigDecimal.ZERO;
+
+    public ProductStats() {}
+
+    public ProductStats(ProductStatsId id) {
+        this.id = id;
+    }
+
+    public ProductStatsId getId() { return id; }
+    public long getActiveCount() { return activeCount; }
+    public long getTotalStock() { return totalStock; }
+    public BigDecimal getStockValue() { return stockValue; }
+
+    public void setCounts(long activeCount, long totalStock, BigDecimal stockValue) {
+        this.activeCount = activeCount;
+        this.totalStock = totalStock;
+        this.stockValue = stockValue;
+    }
+}
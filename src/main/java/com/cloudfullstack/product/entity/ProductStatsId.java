@@ -0,0 +1,44 @@
+package com.cloudfullstack.product.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class ProductStatsId implements Serializable {
+
+    public enum Dimension {
+        STORE,
+        CATEGORY
+    }
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 16)
+    private Dimension dimension;
+
+    @Column(name = "stats_key", nullable = false)
+    private String statsKey;
+
+    public ProductStatsId() {}
+
+    public ProductStatsId(Dimension dimension, String statsKey) {
+        this.dimension = dimension;
+        this.statsKey = statsKey;
+    }
+
+    public Dimension getDimension() { return dimension; }
+    public String getStatsKey() { return statsKey; }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof ProductStatsId that)) return false;
+        return dimension == that.dimension && Objects.equals(statsKey, that.statsKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dimension, statsKey);
+    }
+}
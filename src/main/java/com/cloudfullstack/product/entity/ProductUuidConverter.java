@@ -0,0 +1,21 @@
+package com.cloudfullstack.product.entity;
+
+import com.cloudfullstack.product.util.ProductUuids;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Keeps the string form in Java and query parameters, stores 16 raw bytes
+@Converter
+public class ProductUuidConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String uuid) {
+        return uuid == null ? null : ProductUuids.toBytes(uuid);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : ProductUuids.fromBytes(bytes);
+    }
+}
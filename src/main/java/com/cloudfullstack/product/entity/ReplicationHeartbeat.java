@@ -0,0 +1,23 @@
+package com.cloudfullstack.product.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// The one-row table the primary bumps for replica lag checks (ReplicaHealthChecker writes
+// it through JDBC). Mapped so the table is created and validated with the rest of the schema.
+@Entity
+@Table(name = "replication_heartbeat")
+public class ReplicationHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "beat_at", nullable = false)
+    private LocalDateTime beatAt;
+
+    public ReplicationHeartbeat() {}
+
+    public Integer getId() { return id; }
+    public LocalDateTime getBeatAt() { return beatAt; }
+}
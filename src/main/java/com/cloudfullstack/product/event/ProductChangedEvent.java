@@ -0,0 +1,26 @@
+package com.cloudfullstack.product.event;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+
+// Published by ProductService for every product mutation; product is null when
+// the mutation did not load the row (e.g. soft delete). See ProductEventVersion for version.
+public record ProductChangedEvent(ChangeType type, String productUuid, ProductResponse product, long version) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ProductChangedEvent created(ProductResponse product) {
+        return new ProductChangedEvent(ChangeType.CREATED, product.getProductUuid(), product, ProductEventVersion.next());
+    }
+
+    public static ProductChangedEvent updated(ProductResponse product) {
+        return new ProductChangedEvent(ChangeType.UPDATED, product.getProductUuid(), product, ProductEventVersion.next());
+    }
+
+    public static ProductChangedEvent deleted(String productUuid) {
+        return new ProductChangedEvent(ChangeType.DELETED, productUuid, null, ProductEventVersion.next());
+    }
+}
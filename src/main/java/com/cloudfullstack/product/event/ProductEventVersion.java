@@ -0,0 +1,19 @@
+package com.cloudfullstack.product.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Version stamped on every product event. Mutations publish while they hold the
+// product's row lock, so for one product the versions increase in commit order;
+// after-commit listeners, which see concurrent transactions in any order, use it
+// to drop an event older than one they have already applied.
+public final class ProductEventVersion {
+
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private ProductEventVersion() {
+    }
+
+    public static long next() {
+        return LAST.incrementAndGet();
+    }
+}
@@ -0,0 +1,9 @@
+package com.cloudfullstack.product.event;
+
+// Published by ProductService when a stock-only mutation commits; stock is the new quantity
+public record ProductStockChangedEvent(String productUuid, int stock, long version) {
+
+    public static ProductStockChangedEvent of(String productUuid, int stock) {
+        return new ProductStockChangedEvent(productUuid, stock, ProductEventVersion.next());
+    }
+}
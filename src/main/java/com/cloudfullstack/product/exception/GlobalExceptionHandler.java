@@ -26,7 +26,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleProductNotFound(
         ProductNotFoundException ex, HttpServletRequest request) {
 
-        logger.error("Product not found error: {}", ex.getMessage());
+        // Routine for clients probing unknown UUIDs, not a server error
+        logger.debug("Product not found error: {}", ex.getMessage());
 
         ErrorResponse error = new ErrorResponse(
             "PRODUCT_NOT_FOUND",
@@ -52,6 +53,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(InvalidProductDataException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidProductData(
+        InvalidProductDataException ex, HttpServletRequest request) {
+
+        logger.error("Invalid product data error: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            "INVALID_PRODUCT_DATA",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationErrors(
         MethodArgumentNotValidException ex, HttpServletRequest request) {
@@ -1,7 +1,8 @@
 package com.cloudfullstack.product.exception;
 
+// An expected outcome rendered as 404, so no stack trace is captured
 public class ProductNotFoundException extends RuntimeException {
     public ProductNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
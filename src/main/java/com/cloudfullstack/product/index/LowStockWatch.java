@@ -0,0 +1,210 @@
+package com.cloudfullstack.product.index;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.cloudfullstack.product.config.LowStockProperties;
+import com.cloudfullstack.product.dto.LowStockAlert;
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.event.ProductStockChangedEvent;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.repository.ProductStockView;
+
+/**
+ * In-memory set of active products whose stock is below the highest configured
+ * low-stock threshold.
+ *
+ * The set is seeded once the application is ready and then updated from product
+ * and stock events, so low-stock lookups no longer scan the products table. Each
+ * time a product moves across a threshold a {@link LowStockAlert} is published.
+ * Events are applied after commit, when concurrent transactions can deliver them
+ * out of order, so an event older than the last one applied to its product (by
+ * {@link com.cloudfullstack.product.event.ProductEventVersion}) is dropped.
+ */
+@Component
+public class LowStockWatch {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockWatch.class);
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final List<Integer> thresholds;
+
+    // productUuid -> stock, only for products below the highest threshold
+    private final Map<String, Integer> lowStock = new ConcurrentHashMap<>();
+
+    // productUuid -> version of the last applied event; only has to outlive the short
+    // window in which the after-commit listeners of two transactions can overtake each other
+    private final Cache<String, Long> appliedVersions = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(1))
+        .build();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean ready;
+
+    public LowStockWatch(ProductRepository productRepository, ApplicationEventPublisher eventPublisher,
+                         LowStockProperties properties) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.thresholds = properties.getThresholds().stream().distinct().sorted().toList();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return lowStock.size();
+    }
+
+    // Whether a lookup for this threshold can be answered from memory
+    public boolean covers(int threshold) {
+        return ready && !thresholds.isEmpty() && threshold <= maxThreshold();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (thresholds.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            ready = false;
+            lowStock.clear();
+            for (ProductStockView view : productRepository.findByStockLessThanAndActiveTrue(maxThreshold())) {
+                lowStock.put(view.getProductUuid(), view.getStock());
+            }
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Low-stock watch built with {} products below {} in {} ms",
+            lowStock.size(), maxThreshold(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductResponse product = event.product();
+        if (product != null && Boolean.TRUE.equals(product.getActive()) && product.getStock() != null) {
+            update(event.productUuid(), product.getStock(), event.version());
+        } else {
+            remove(event.productUuid(), event.version());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        update(event.productUuid(), event.stock(), event.version());
+    }
+
+    public void update(String productUuid, int stock, long version) {
+        if (thresholds.isEmpty()) {
+            return;
+        }
+        LowStockAlert alert = null;
+        writeLock.lock();
+        try {
+            if (isStale(productUuid, version)) {
+                return;
+            }
+            Integer previous = stock < maxThreshold()
+                ? lowStock.put(productUuid, stock)
+                : lowStock.remove(productUuid);
+            Integer previousLevel = previous == null ? null : levelOf(previous);
+            Integer level = levelOf(stock);
+            if (!Objects.equals(previousLevel, level)) {
+                alert = new LowStockAlert(productUuid, stock, level);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        publish(alert);
+    }
+
+    public void remove(String productUuid, long version) {
+        Integer previous;
+        writeLock.lock();
+        try {
+            if (isStale(productUuid, version)) {
+                return;
+            }
+            previous = lowStock.remove(productUuid);
+        } finally {
+            writeLock.unlock();
+        }
+        if (previous != null) {
+            publish(new LowStockAlert(productUuid, previous, null));
+        }
+    }
+
+    // UUIDs of products with stock below the threshold, lowest stock first
+    public List<String> findBelow(int threshold) {
+        return lowStock.entrySet().stream()
+            .filter(entry -> entry.getValue() < threshold)
+            .sorted(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    // Current state of every watched product, as sent to a newly connected stream
+    public List<LowStockAlert> snapshot() {
+        return lowStock.entrySet().stream()
+            .map(entry -> new LowStockAlert(entry.getKey(), entry.getValue(), levelOf(entry.getValue())))
+            .sorted(Comparator.comparingInt(LowStockAlert::getStock).thenComparing(LowStockAlert::getProductUuid))
+            .toList();
+    }
+
+    // Records the version unless a newer event was already applied; call under the write lock
+    private boolean isStale(String productUuid, long version) {
+        Long applied = appliedVersions.getIfPresent(productUuid);
+        if (applied != null && applied > version) {
+            logger.debug("Dropping out-of-order event {} for product {} (applied {})", version, productUuid, applied);
+            return true;
+        }
+        appliedVersions.put(productUuid, version);
+        return false;
+    }
+
+    // Lowest threshold the stock is below, or null if it is above all of them
+    private Integer levelOf(int stock) {
+        for (Integer threshold : thresholds) {
+            if (stock < threshold) {
+                return threshold;
+            }
+        }
+        return null;
+    }
+
+    private int maxThreshold() {
+        return thresholds.get(thresholds.size() - 1);
+    }
+
+    private void publish(LowStockAlert alert) {
+        if (alert != null) {
+            logger.info("Product {} stock {} crossed low-stock threshold, now below: {}",
+                alert.getProductUuid(), alert.getStock(), alert.getThreshold());
+            eventPublisher.publishEvent(alert);
+        }
+    }
+}
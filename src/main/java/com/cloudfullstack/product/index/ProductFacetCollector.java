@@ -0,0 +1,135 @@
+package com.cloudfullstack.product.index;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects one page of matching products and the facet counts around them in a
+ * single pass over products fed in price order.
+ *
+ * Each facet counts the products that match every filter except its own, so the
+ * category counts say how many products each category would give with the current
+ * store and price filters (and likewise for stores and price buckets).
+ */
+public final class ProductFacetCollector {
+
+    // Largest price whose cents fit in a long; any bound beyond it selects the same products
+    private static final BigDecimal MAX_BOUND = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+
+    private final String category;
+    private final String storeId;
+    private final long minCents;
+    private final long maxCents;
+    private final long[] bucketBounds;
+    private final int offset;
+    private final int limit;
+
+    private final List<String> productUuids = new ArrayList<>();
+    private final Map<String, long[]> categoryCounts = new HashMap<>();
+    private final Map<String, long[]> storeCounts = new HashMap<>();
+    private final long[] priceBucketCounts;
+    private long total;
+
+    /**
+     * @param maxPrice     inclusive upper bound, or null for none
+     * @param priceBuckets lower bounds of every price bucket but the first, which starts at 0
+     */
+    public ProductFacetCollector(String category, String storeId, BigDecimal minPrice, BigDecimal maxPrice,
+                                 List<BigDecimal> priceBuckets, int offset, int limit) {
+        this.category = category;
+        this.storeId = storeId;
+        this.minCents = boundToCents(minPrice, RoundingMode.CEILING);
+        this.maxCents = maxPrice == null ? Long.MAX_VALUE : boundToCents(maxPrice, RoundingMode.FLOOR);
+        this.bucketBounds = priceBuckets.stream().mapToLong(ProductFacetCollector::toCents).sorted().distinct().toArray();
+        this.priceBucketCounts = new long[bucketBounds.length + 1];
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    public void accept(String productUuid, long priceCents, String storeId, String category) {
+        boolean inCategory = this.category == null || this.category.equals(category);
+        boolean inStore = this.storeId == null || this.storeId.equals(storeId);
+        boolean inPrice = priceCents >= minCents && priceCents <= maxCents;
+
+        if (inStore && inPrice && category != null) {
+            categoryCounts.computeIfAbsent(category, key -> new long[1])[0]++;
+        }
+        if (inCategory && inPrice && storeId != null) {
+            storeCounts.computeIfAbsent(storeId, key -> new long[1])[0]++;
+        }
+        if (inCategory && inStore) {
+            priceBucketCounts[bucket(priceCents)]++;
+            if (inPrice) {
+                if (total >= offset && productUuids.size() < limit) {
+                    productUuids.add(productUuid);
+                }
+                total++;
+            }
+        }
+    }
+
+    // UUIDs on the requested page, in the order they were fed
+    public List<String> productUuids() {
+        return productUuids;
+    }
+
+    // Products matching every filter
+    public long total() {
+        return total;
+    }
+
+    // Most products first, then by name
+    public Map<String, Long> categoryCounts() {
+        return sorted(categoryCounts);
+    }
+
+    public Map<String, Long> storeCounts() {
+        return sorted(storeCounts);
+    }
+
+    // Lower bounds of the price buckets in cents; the first bucket starts at 0
+    public long[] priceBucketBounds() {
+        return bucketBounds.clone();
+    }
+
+    public long[] priceBucketCounts() {
+        return priceBucketCounts.clone();
+    }
+
+    public static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // Price filter bound in whole cents, rounded towards the inside of the range and
+    // clamped, so a huge bound means "no limit" instead of failing the conversion
+    static long boundToCents(BigDecimal price, RoundingMode rounding) {
+        if (price.compareTo(MAX_BOUND) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (price.compareTo(MAX_BOUND.negate()) <= 0) {
+            return -Long.MAX_VALUE;
+        }
+        return price.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    private int bucket(long priceCents) {
+        int index = Arrays.binarySearch(bucketBounds, priceCents);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static Map<String, Long> sorted(Map<String, long[]> counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> -entry.getValue()[0])
+                .thenComparing(Map.Entry::getKey))
+            .forEach(entry -> result.put(entry.getKey(), entry.getValue()[0]));
+        return result;
+    }
+}
@@ -0,0 +1,243 @@
+package com.cloudfullstack.product.index;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.repository.ProductPriceView;
+import com.cloudfullstack.product.repository.ProductRepository;
+
+/**
+ * In-memory price index over active products, ordered by price in whole cents.
+ *
+ * Besides the global ordering, each store, each category and each store + category
+ * pair keeps its own sorted set, so a range query seeks straight to the lower bound
+ * of the set for exactly its filters and walks only matching entries: O(log n + k)
+ * instead of a table scan. Like the
+ * title index, it is built once the application is ready and then kept current
+ * from product events, dropping any event older than the last one applied to its
+ * product.
+ */
+@Component
+public class ProductPriceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductPriceIndex.class);
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::priceCents)
+        .thenComparing(Entry::productUuid);
+
+    private final ProductRepository productRepository;
+
+    // productUuid -> current entry, so an update can find and drop the old position
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final NavigableSet<Entry> all = new ConcurrentSkipListSet<>(ORDER);
+
+    private final Map<String, NavigableSet<Entry>> byStore = new ConcurrentHashMap<>();
+
+    private final Map<String, NavigableSet<Entry>> byCategory = new ConcurrentHashMap<>();
+
+    private final Map<StoreCategory, NavigableSet<Entry>> byStoreAndCategory = new ConcurrentHashMap<>();
+
+    // productUuid -> version of the last applied event
+    private final Cache<String, Long> appliedVersions = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(1))
+        .build();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean ready;
+
+    public ProductPriceIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            ready = false;
+            entries.clear();
+            all.clear();
+            byStore.clear();
+            byCategory.clear();
+            byStoreAndCategory.clear();
+            for (ProductPriceView view : productRepository.findPricesByActiveTrue()) {
+                add(view.getProductUuid(), view.getPrice(), view.getStoreId(), view.getCategory());
+            }
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Price index built with {} products in {} ms", entries.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductResponse product = event.product();
+        String productUuid = event.productUuid();
+        writeLock.lock();
+        try {
+            if (isStale(productUuid, event.version())) {
+                return;
+            }
+            removeInternal(productUuid);
+            if (product != null && Boolean.TRUE.equals(product.getActive())) {
+                add(productUuid, product.getPrice(), product.getStoreId(), product.getCategory());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void index(String productUuid, BigDecimal price, String storeId, String category) {
+        writeLock.lock();
+        try {
+            removeInternal(productUuid);
+            add(productUuid, price, storeId, category);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(String productUuid) {
+        writeLock.lock();
+        try {
+            removeInternal(productUuid);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the UUIDs of products priced within [minPrice, maxPrice], cheapest first
+     * (ties by product UUID, which is creation order for UUIDv7 products). Category and
+     * store are optional filters. Bounds beyond any representable price are clamped.
+     */
+    public List<String> search(BigDecimal minPrice, BigDecimal maxPrice, String category, String storeId,
+                               int offset, int limit) {
+        long minCents = ProductFacetCollector.boundToCents(minPrice, RoundingMode.CEILING);
+        long maxCents = ProductFacetCollector.boundToCents(maxPrice, RoundingMode.FLOOR);
+        if (minCents > maxCents) {
+            return List.of();
+        }
+
+        // Every entry of the chosen set matches the filters, so the walk never skips any
+        NavigableSet<Entry> source = storeId != null && category != null
+            ? byStoreAndCategory.get(new StoreCategory(storeId, category))
+            : storeId != null ? byStore.get(storeId)
+            : category != null ? byCategory.get(category)
+            : all;
+        if (source == null) {
+            return List.of();
+        }
+
+        Entry from = new Entry(minCents, "", null, null);
+        Entry to = new Entry(maxCents, "\uffff", null, null);
+        return source.subSet(from, true, to, true).stream()
+            .skip(offset)
+            .limit(limit)
+            .map(Entry::productUuid)
+            .toList();
+    }
+
+    // Feeds every indexed product to the collector, cheapest first
+    public void browse(ProductFacetCollector collector) {
+        for (Entry entry : all) {
+            collector.accept(entry.productUuid(), entry.priceCents(), entry.storeId(), entry.category());
+        }
+    }
+
+    // Records the version unless a newer event was already applied; call under the write lock
+    private boolean isStale(String productUuid, long version) {
+        Long applied = appliedVersions.getIfPresent(productUuid);
+        if (applied != null && applied > version) {
+            logger.debug("Dropping out-of-order event {} for product {} (applied {})", version, productUuid, applied);
+            return true;
+        }
+        appliedVersions.put(productUuid, version);
+        return false;
+    }
+
+    private void add(String productUuid, BigDecimal price, String storeId, String category) {
+        if (price == null) {
+            return;
+        }
+        Entry entry = new Entry(ProductFacetCollector.toCents(price), productUuid, storeId, category);
+        entries.put(productUuid, entry);
+        all.add(entry);
+        if (storeId != null) {
+            byStore.computeIfAbsent(storeId, key -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+        }
+        if (category != null) {
+            byCategory.computeIfAbsent(category, key -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+        }
+        if (storeId != null && category != null) {
+            byStoreAndCategory.computeIfAbsent(new StoreCategory(storeId, category),
+                key -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+        }
+    }
+
+    private void removeInternal(String productUuid) {
+        Entry previous = entries.remove(productUuid);
+        if (previous == null) {
+            return;
+        }
+        all.remove(previous);
+        removeFrom(byStore, previous.storeId(), previous);
+        removeFrom(byCategory, previous.category(), previous);
+        if (previous.storeId() != null && previous.category() != null) {
+            removeFrom(byStoreAndCategory, new StoreCategory(previous.storeId(), previous.category()), previous);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, NavigableSet<Entry>> sets, K key, Entry entry) {
+        if (key == null) {
+            return;
+        }
+        NavigableSet<Entry> set = sets.get(key);
+        if (set != null) {
+            set.remove(entry);
+            if (set.isEmpty()) {
+                sets.remove(key);
+            }
+        }
+    }
+
+    // Search bounds use an empty UUID and a UUID above any real one, so they enclose every entry at their price
+    private record Entry(long priceCents, String productUuid, String storeId, String category) {
+    }
+
+    private record StoreCategory(String storeId, String category) {
+    }
+}
@@ -0,0 +1,250 @@
+package com.cloudfullstack.product.index;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.repository.ProductTitleView;
+
+/**
+ * In-memory trigram index over the titles of active products.
+ *
+ * Substring queries intersect the posting lists of their trigrams and verify the
+ * surviving candidates, so a search never scans the products table. Titles are also
+ * indexed by their single characters and bigrams, so one- and two-character queries
+ * read exactly one posting list instead of walking every title. The index is built
+ * once the application is ready and then kept current from product events; as in
+ * {@link LowStockWatch}, an event older than the last one applied to its product is
+ * dropped, so after-commit listeners running out of order cannot restore an old title.
+ */
+@Component
+public class ProductTitleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductTitleIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ProductRepository productRepository;
+
+    // productUuid -> normalized title
+    private final Map<String, String> titles = new ConcurrentHashMap<>();
+
+    // gram (1 to GRAM_LENGTH characters) -> productUuids whose title contains it
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+    // productUuid -> version of the last applied event
+    private final Cache<String, Long> appliedVersions = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(1))
+        .build();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean ready;
+
+    public ProductTitleIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return titles.size();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            ready = false;
+            titles.clear();
+            postings.clear();
+            for (ProductTitleView view : productRepository.findAllByActiveTrue()) {
+                add(view.getProductUuid(), view.getTitle());
+            }
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Title index built with {} products in {} ms", titles.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductResponse product = event.product();
+        String productUuid = event.productUuid();
+        writeLock.lock();
+        try {
+            if (isStale(productUuid, event.version())) {
+                return;
+            }
+            removeInternal(productUuid);
+            if (product != null && Boolean.TRUE.equals(product.getActive())) {
+                add(productUuid, product.getTitle());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void index(String productUuid, String title) {
+        writeLock.lock();
+        try {
+            removeInternal(productUuid);
+            add(productUuid, title);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(String productUuid) {
+        writeLock.lock();
+        try {
+            removeInternal(productUuid);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the UUIDs of products whose title contains the query, best match first:
+     * title prefix, then word prefix, then earliest position, then shortest title.
+     */
+    public List<String> search(String query, long offset, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (String productUuid : candidates(needle)) {
+            String title = titles.get(productUuid);
+            int position = title == null ? -1 : title.indexOf(needle);
+            if (position >= 0) {
+                matches.add(new Match(productUuid, title, position));
+            }
+        }
+
+        return matches.stream()
+            .sorted(Comparator.comparingInt(Match::rank)
+                .thenComparingInt(Match::position)
+                .thenComparingInt(match -> match.title().length())
+                .thenComparing(Match::productUuid))
+            .skip(offset)
+            .limit(limit)
+            .map(Match::productUuid)
+            .toList();
+    }
+
+    private Set<String> candidates(String needle) {
+        if (needle.length() < GRAM_LENGTH) {
+            return postings.getOrDefault(needle, Set.of());
+        }
+
+        List<Set<String>> lists = new ArrayList<>();
+        for (String gram : grams(needle, GRAM_LENGTH)) {
+            Set<String> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    // Records the version unless a newer event was already applied; call under the write lock
+    private boolean isStale(String productUuid, long version) {
+        Long applied = appliedVersions.getIfPresent(productUuid);
+        if (applied != null && applied > version) {
+            logger.debug("Dropping out-of-order event {} for product {} (applied {})", version, productUuid, applied);
+            return true;
+        }
+        appliedVersions.put(productUuid, version);
+        return false;
+    }
+
+    private void add(String productUuid, String title) {
+        String normalized = normalize(title);
+        titles.put(productUuid, normalized);
+        for (String gram : allGrams(normalized)) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(productUuid);
+        }
+    }
+
+    private void removeInternal(String productUuid) {
+        String previous = titles.remove(productUuid);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : allGrams(previous)) {
+            Set<String> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(productUuid);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String text, int length) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + length <= text.length(); i++) {
+            grams.add(text.substring(i, i + length));
+        }
+        return grams;
+    }
+
+    private static Set<String> allGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            grams.addAll(grams(text, length));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Match(String productUuid, String title, int position) {
+
+        // 0 = title starts with the query, 1 = a word starts with it, 2 = anywhere else
+        int rank() {
+            if (position == 0) {
+                return 0;
+            }
+            return Character.isLetterOrDigit(title.charAt(position - 1)) ? 2 : 1;
+        }
+    }
+}
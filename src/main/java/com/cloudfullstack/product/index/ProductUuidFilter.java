@@ -0,0 +1,192 @@
+package com.cloudfullstack.product.index;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.cloudfullstack.product.config.ProductUuidFilterProperties;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.event.ProductChangedEvent.ChangeType;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.util.ProductUuids;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fast not-found answers for product lookups by UUID.
+ *
+ * A Bloom filter holds every product UUID that existed when it was built, plus every
+ * product created on this instance since. A UUID it has never seen cannot exist,
+ * provided it was minted before the build: UUIDv7 carries its creation time, so UUIDs
+ * newer than the build (less clock-skew), e.g. created on another instance, always
+ * go to the database. UUIDs the database did not know are kept in a short-TTL negative
+ * cache, which creation on this instance invalidates. Both are keyed by the parsed
+ * UUID, so every spelling of a UUID shares one entry.
+ *
+ * Rejection rate: product.uuid.lookups{outcome!="passed"} / product.uuid.lookups.
+ */
+@Component
+public class ProductUuidFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductUuidFilter.class);
+
+    private final ProductRepository productRepository;
+    private final ProductUuidFilterProperties properties;
+    private final Cache<UUID, Boolean> missing;
+
+    private final Counter bloomRejected;
+    private final Counter negativeCacheRejected;
+    private final Counter passed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // null until the first build finished
+    private volatile UuidBloomFilter filter;
+
+    // UUIDs minted before this time are in the filter if they exist
+    private volatile long coveredUntilMillis;
+
+    // Receives creations while a rebuild is reading the table
+    private UuidBloomFilter building;
+
+    public ProductUuidFilter(ProductRepository productRepository, ProductUuidFilterProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.missing = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getNegativeCacheTtl())
+            .maximumSize(properties.getNegativeCacheMaximumSize())
+            .build();
+
+        this.bloomRejected = lookups(meterRegistry, "bloom-rejected");
+        this.negativeCacheRejected = lookups(meterRegistry, "negative-cache-rejected");
+        this.passed = lookups(meterRegistry, "passed");
+        Gauge.builder("product.uuid.filter.false.positive.probability", this,
+                f -> f.filter == null ? Double.NaN : f.filter.falsePositiveProbability())
+            .description("Expected false-positive probability of the known product UUID filter")
+            .register(meterRegistry);
+        Gauge.builder("product.uuid.negative.cache.size", missing, Cache::estimatedSize)
+            .description("Unknown product UUIDs currently answered from memory")
+            .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    /**
+     * False only when the product certainly does not exist (or was looked up and not
+     * found within the negative-cache TTL); true means the database has to be asked.
+     */
+    public boolean mightExist(String uuid) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        UUID value = UUID.fromString(uuid);
+        if (missing.getIfPresent(value) != null) {
+            negativeCacheRejected.increment();
+            return false;
+        }
+
+        UuidBloomFilter current = filter;
+        if (current != null) {
+            long mintedAt = ProductUuids.timestampMillis(value);
+            // Pre-v7 UUIDs all predate the filter
+            if (mintedAt < coveredUntilMillis && !current.mightContain(value)) {
+                bloomRejected.increment();
+                return false;
+            }
+        }
+        passed.increment();
+        return true;
+    }
+
+    // The database had no product with this UUID
+    public void recordMissing(String uuid) {
+        if (properties.isEnabled()) {
+            missing.put(UUID.fromString(uuid), Boolean.TRUE);
+        }
+    }
+
+    // Not readOnly on purpose: a lagging replica could miss products the filter is about to vouch for
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long capacity = Math.max(properties.getExpectedInsertions(), 2 * productRepository.count());
+        UuidBloomFilter next = new UuidBloomFilter(capacity, properties.getFalsePositiveProbability());
+        lock.lock();
+        try {
+            building = next;
+        } finally {
+            lock.unlock();
+        }
+
+        try (Stream<String> uuids = productRepository.streamAllProductUuids()) {
+            uuids.forEach(uuid -> next.put(UUID.fromString(uuid)));
+        } catch (RuntimeException ex) {
+            swap(filter, coveredUntilMillis);
+            throw ex;
+        }
+
+        swap(next, start - properties.getClockSkew().toMillis());
+        logger.info("Product UUID filter built with {} products in {} ms",
+            next.insertions(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() != ChangeType.CREATED) {
+            return;
+        }
+        UUID uuid = UUID.fromString(event.productUuid());
+        lock.lock();
+        try {
+            if (filter != null) {
+                filter.put(uuid);
+            }
+            if (building != null) {
+                building.put(uuid);
+            }
+        } finally {
+            lock.unlock();
+        }
+        missing.invalidate(uuid);
+    }
+
+    // Creations reach either the building filter or its replacement, never neither
+    private void swap(UuidBloomFilter next, long coveredUntil) {
+        lock.lock();
+        try {
+            filter = next;
+            coveredUntilMillis = coveredUntil;
+            building = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("product.uuid.lookups")
+            .description("Product lookups by UUID, by whether the known-UUID filter answered them")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cloudfullstack.product.index;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed-size Bloom filter over 128-bit UUIDs. Bits are set with atomic ORs, so
+// concurrent puts and lookups need no lock. Probes use double hashing of the two halves.
+final class UuidBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder insertions = new LongAdder();
+
+    UuidBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(UUID uuid) {
+        long h1 = mix(uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits());
+        long h2 = mix(uuid.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            bits.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+        insertions.increment();
+    }
+
+    boolean mightContain(UUID uuid) {
+        long h1 = mix(uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits());
+        long h2 = mix(uuid.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long insertions() {
+        return insertions.sum();
+    }
+
+    // Expected false-positive probability after the insertions so far
+    double falsePositiveProbability() {
+        return Math.pow(1 - Math.exp(-hashCount * (double) insertions() / bitCount), hashCount);
+    }
+
+    // SplitMix64 finalizer; UUIDv7 halves are part timestamp, part counter, so they need mixing
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
@@ -21,10 +22,22 @@ public interface ProductMapper {
     // Convert list of entities to list of response DTOs
     List<ProductResponse> toResponseList(List<Product> products);
 
-    // Convert create request to entity
+    // Convert create request to entity; identity, status and audit fields are set by the entity
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "productUuid", ignore = true)
+    @Mapping(target = "active", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Product toEntity(CreateProductRequest request);
 
-    // Update entity from update request (ignore null fields)
+    // Update entity from update request (ignore null fields); store and category cannot be changed
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "productUuid", ignore = true)
+    @Mapping(target = "storeId", ignore = true)
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "active", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     void updateEntityFromRequest(UpdateProductRequest request, @MappingTarget Product product);
 }
\ No newline at end of file
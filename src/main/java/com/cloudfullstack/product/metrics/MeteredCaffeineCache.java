@@ -0,0 +1,63 @@
+package com.cloudfullstack.product.metrics;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// CaffeineCache that also counts hits and misses per endpoint as product.cache.requests;
+// Caffeine's own statistics (cache.gets) cannot tell which endpoint asked
+public class MeteredCaffeineCache extends CaffeineCache {
+
+    public static final String CACHE_REQUESTS = "product.cache.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    public MeteredCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues,
+                                MeterRegistry meterRegistry) {
+        super(name, cache, allowNullValues);
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Used by @Cacheable(sync = true); callers that waited on another thread's load count as hits
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = super.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        record(loaded.get() ? 0 : 1, loaded.get() ? 1 : 0);
+        return value;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        record(value != null ? 1 : 0, value != null ? 0 : 1);
+        return value;
+    }
+
+    // For callers that read the native cache in bulk
+    public void record(long hits, long misses) {
+        String endpoint = RequestEndpoint.current();
+        if (hits > 0) {
+            counter("hit", endpoint).increment(hits);
+        }
+        if (misses > 0) {
+            counter("miss", endpoint).increment(misses);
+        }
+    }
+
+    private Counter counter(String result, String endpoint) {
+        return Counter.builder(CACHE_REQUESTS)
+            .description("Cache lookups by result and endpoint")
+            .tags("cache", getName(), "result", result, "endpoint", endpoint)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,101 @@
+package com.cloudfullstack.product.metrics;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every ProductService method and every repository call, tagged by class,
+ * method, endpoint and exception. Repository reads also record how many rows they
+ * returned. Histogram buckets for these meters are configured under
+ * management.metrics.distribution in application.yml.
+ *
+ * Runs outside the transaction and cache advice, so service timings include cache
+ * hits and the commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProductMetricsAspect {
+
+    public static final String SERVICE_TIMER = "product.service";
+    public static final String REPOSITORY_TIMER = "product.repository";
+    public static final String REPOSITORY_ROWS = "product.repository.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    public ProductMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.cloudfullstack.product.service.ProductService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, "ProductService", joinPoint);
+    }
+
+    @Around("target(com.cloudfullstack.product.repository.ProductRepository)")
+    public Object timeProductRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, "ProductRepository", joinPoint);
+    }
+
+    @Around("target(com.cloudfullstack.product.repository.ProductStatsRepository)")
+    public Object timeProductStatsRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, "ProductStatsRepository", joinPoint);
+    }
+
+    private Object time(String name, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = Tags.of("class", className,
+            "method", joinPoint.getSignature().getName(),
+            "endpoint", RequestEndpoint.current());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            if (REPOSITORY_TIMER.equals(name)) {
+                recordRows(tags, result);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("exception", exception)
+                .register(meterRegistry));
+        }
+    }
+
+    // Only reads have a row count; streams are consumed after the call returns
+    private void recordRows(Tags tags, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else {
+            return;
+        }
+
+        DistributionSummary.builder(REPOSITORY_ROWS)
+            .baseUnit("rows")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(rows);
+    }
+}
@@ -0,0 +1,64 @@
+package com.cloudfullstack.product.metrics;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import com.cloudfullstack.product.config.HibernateCacheConfig;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hit, miss and put counts per query cache region, as
+ * hibernate.query.cache.region.requests{region,result} and hibernate.query.cache.region.puts.
+ * Hibernate's own meters report entity regions by name but query caching only in total.
+ */
+@Component
+public class QueryCacheRegionMetrics implements MeterBinder {
+
+    private static final List<String> REGIONS =
+        List.of(HibernateCacheConfig.STORE_QUERY_REGION, HibernateCacheConfig.CATEGORY_QUERY_REGION);
+
+    private final Statistics statistics;
+
+    public QueryCacheRegionMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : REGIONS) {
+            counter(registry, "hibernate.query.cache.region.requests", region, "hit",
+                CacheRegionStatistics::getHitCount);
+            counter(registry, "hibernate.query.cache.region.requests", region, "miss",
+                CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.query.cache.region.puts", statistics,
+                    stats -> count(stats, region, CacheRegionStatistics::getPutCount))
+                .description("Query results stored in the query cache region")
+                .tag("region", region)
+                .register(registry);
+        }
+    }
+
+    private void counter(MeterRegistry registry, String name, String region, String result,
+                         ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder(name, statistics, stats -> count(stats, region, count))
+            .description("Lookups in the query cache region")
+            .tag("region", region)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    // The region only exists once a query has used it (and not at all with the cache disabled)
+    private static double count(Statistics stats, String region, ToLongFunction<CacheRegionStatistics> count) {
+        CacheRegionStatistics regionStatistics = stats.getQueryRegionStatistics(region);
+        return regionStatistics == null ? 0 : count.applyAsLong(regionStatistics);
+    }
+}
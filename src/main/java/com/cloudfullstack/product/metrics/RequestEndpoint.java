@@ -0,0 +1,29 @@
+package com.cloudfullstack.product.metrics;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Value of the "endpoint" metric tag: HTTP method plus the matched route pattern
+// (e.g. "GET /api/v1/products/{uuid}"), so tag cardinality is bounded by the routes
+public final class RequestEndpoint {
+
+    // Work that does not run on a request thread (startup, batch loader, async tasks)
+    public static final String NONE = "none";
+
+    private RequestEndpoint() {}
+
+    public static String current() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return of(attributes.getRequest());
+        }
+        return NONE;
+    }
+
+    public static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? NONE : request.getMethod() + " " + pattern;
+    }
+}
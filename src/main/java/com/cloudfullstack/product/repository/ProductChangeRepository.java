@@ -0,0 +1,44 @@
+package com.cloudfullstack.product.repository;
+
+import com.cloudfullstack.product.cluster.ProductInvalidation;
+import com.cloudfullstack.product.entity.ProductChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    // Sequenced changes after a cursor, oldest first (read-only, no dirty checking)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT c FROM ProductChange c WHERE c.seq > :since ORDER BY c.seq")
+    List<ProductChange> findChangesAfter(@Param("since") long since, Pageable pageable);
+
+    // The same changes as cache invalidations for other instances, with the product id for the entity cache
+    @Query("SELECT new com.cloudfullstack.product.cluster.ProductInvalidation(c.productUuid, p.id, c.seq, c.origin) " +
+           "FROM ProductChange c LEFT JOIN Product p ON p.productUuid = c.productUuid " +
+           "WHERE c.seq > :since ORDER BY c.seq")
+    List<ProductInvalidation> findInvalidationsAfter(@Param("since") long since, Pageable pageable);
+
+    // Committed changes still waiting for a cursor, in insertion order
+    @Query("SELECT c FROM ProductChange c WHERE c.seq IS NULL ORDER BY c.id")
+    List<ProductChange> findUnsequenced(Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM ProductChange c")
+    long findMaxSeq();
+
+    // Compaction: drop changes older than the cutoff that a later change of the same product supersedes
+    @Modifying
+    @Query("DELETE FROM ProductChange c WHERE c.changedAt < :cutoff AND c.seq IS NOT NULL " +
+           "AND EXISTS (SELECT 1 FROM ProductChange n WHERE n.productUuid = c.productUuid AND n.seq > c.seq)")
+    int deleteSupersededBefore(@Param("cutoff") LocalDateTime cutoff);
+}
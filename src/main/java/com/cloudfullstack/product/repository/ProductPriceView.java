@@ -0,0 +1,15 @@
+package com.cloudfullstack.product.repository;
+
+import java.math.BigDecimal;
+
+// Projection used to build the in-memory price index without loading full entities
+public interface ProductPriceView {
+
+    String getProductUuid();
+
+    BigDecimal getPrice();
+
+    String getStoreId();
+
+    String getCategory();
+}
@@ -1,30 +1,160 @@
 package com.cloudfullstack.product.repository;
 
+import com.cloudfullstack.product.config.HibernateCacheConfig;
+import com.cloudfullstack.product.dto.ProductResponse;
 import com.cloudfullstack.product.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
+
+    // Read-path projections select straight into ProductResponse: no managed entities,
+    // no snapshots for dirty checking. The summary form skips the TEXT description.
+    String RESPONSE = "SELECT new com.cloudfullstack.product.dto.ProductResponse(" +
+        "p.productUuid, p.title, p.description, p.price, p.storeId, p.category, " +
+        "p.stock, p.active, p.createdAt, p.updatedAt) FROM Product p ";
+
+    String SUMMARY = "SELECT new com.cloudfullstack.product.dto.ProductResponse(" +
+        "p.productUuid, p.title, CAST(NULL AS String), p.price, p.storeId, p.category, " +
+        "p.stock, p.active, p.createdAt, p.updatedAt) FROM Product p ";
 
     // Find by UUID instead of ID for external APIs
     Optional<Product> findByProductUuid(String productUuid);
 
-    // Find active products by store
+    // Find several active products by UUID in one query
+    @Query(RESPONSE + "WHERE p.productUuid IN :uuids AND p.active = true")
+    List<ProductResponse> findResponsesByProductUuidIn(@Param("uuids") Collection<String> uuids);
+
+    // Find several products by UUID in one query, active or not (batch variant of findByProductUuid)
+    @Query(RESPONSE + "WHERE p.productUuid IN :uuids")
+    List<ProductResponse> findResponsesByUuids(@Param("uuids") Collection<String> uuids);
+
+    // All products, paginated
+    @Query(value = RESPONSE, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductResponse> findAllResponses(Pageable pageable);
+
+    @Query(value = SUMMARY, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductResponse> findAllSummaries(Pageable pageable);
+
+    // Active products by store (results kept in the store query cache)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.STORE_QUERY_REGION)
+    })
+    @Query(RESPONSE + "WHERE p.storeId = :storeId AND p.active = true")
+    List<ProductResponse> findResponsesByStoreId(@Param("storeId") String storeId);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.STORE_QUERY_REGION)
+    })
+    @Query(SUMMARY + "WHERE p.storeId = :storeId AND p.active = true")
+    List<ProductResponse> findSummariesByStoreId(@Param("storeId") String storeId);
+
+    // Active products whose title contains the search term
+    @Query(RESPONSE + "WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :title, '%')) AND p.active = true")
+    List<ProductResponse> searchResponsesByTitle(@Param("title") String title, Pageable pageable);
+
+    // Active products in a price range
+    @Query(RESPONSE + "WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.active = true")
+    List<ProductResponse> findResponsesByPriceBetween(@Param("minPrice") BigDecimal minPrice,
+                                                     @Param("maxPrice") BigDecimal maxPrice);
+
+    // Active products with stock below the threshold, lowest stock first like the in-memory low-stock watch
+    @Query(RESPONSE + "WHERE p.stock < :threshold AND p.active = true ORDER BY p.stock, p.productUuid")
+    List<ProductResponse> findLowStockResponses(@Param("threshold") Integer threshold);
+
+    // Stock levels of active products below the threshold (for the in-memory low-stock watch)
+    List<ProductStockView> findByStockLessThanAndActiveTrue(Integer threshold);
+
+    // Find product by UUID and lock its row until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Product> findForUpdateByProductUuid(String uuid);
+
+    // Find several products by UUID and lock their rows until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Product> findForUpdateByProductUuidIn(Collection<String> uuids);
+
+    // Titles of all active products (for the in-memory title index)
+    List<ProductTitleView> findAllByActiveTrue();
+
+    // Prices and filter fields of all active products (for the in-memory price index)
+    List<ProductPriceView> findPricesByActiveTrue();
+
+    // Active products in a price range, optionally narrowed to a category and store, cheapest first
+    @Query(RESPONSE + "WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.active = true "
+        + "AND (:category IS NULL OR p.category = :category) AND (:storeId IS NULL OR p.storeId = :storeId) "
+        + "ORDER BY p.price, p.productUuid")
+    List<ProductResponse> findResponsesByPriceRange(@Param("minPrice") BigDecimal minPrice,
+                                                    @Param("maxPrice") BigDecimal maxPrice,
+                                                    @Param("category") String category,
+                                                    @Param("storeId") String storeId,
+                                                    Pageable pageable);
+
+    // Find active products by store (ids cached per store, entities from the product region)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.STORE_QUERY_REGION)
+    })
     List<Product> findByStoreIdAndActiveTrue(String storeId);
 
-    // Find products by category with pagination
+    // Stream active products by store for exports (read-only, fetched in chunks, outside the second-level cache;
+    // rows loaded while iterating follow the session cache mode, see ProductExportService)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Product> streamByStoreIdAndActiveTrueOrderById(String storeId);
+
+    // Stream all active products for exports (read-only, fetched in chunks, outside the second-level cache;
+    // rows loaded while iterating follow the session cache mode, see ProductExportService)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Product> streamAllByActiveTrueOrderById();
+
+    // Every product UUID, active or not (for the known-UUID filter), fetched in chunks
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.productUuid FROM Product p")
+    Stream<String> streamAllProductUuids();
+
+    // Find products by category with pagination (page and count cached per category)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.CATEGORY_QUERY_REGION)
+    })
     Page<Product> findByCategoryAndActiveTrue(String category, Pageable pageable);
 
+    // Keyset pagination: first page, newest first with id as tie-breaker
+    Slice<Product> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    // Keyset pagination: seek past the last (createdAt, id) of the previous page
+    @Query("SELECT p FROM Product p WHERE p.createdAt < :createdAt " +
+           "OR (p.createdAt = :createdAt AND p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Product> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id, Pageable pageable);
+
     // Search products by title (case-insensitive)
     @Query("SELECT p FROM Product p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :title, '%')) AND p.active = true")
     List<Product> searchByTitle(@Param("title") String title);
@@ -37,18 +167,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findLowStockProducts(@Param("threshold") Integer threshold);
 
     // Count products by store
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.STORE_QUERY_REGION)
+    })
     long countByStoreIdAndActiveTrue(String storeId);
 
-    // Update stock quantity
-    @Modifying
-    @Query("UPDATE Product p SET p.stock = :stock WHERE p.productUuid = :uuid")
-    int updateStock(@Param("uuid") String uuid, @Param("stock") Integer stock);
-
-    // Soft delete (mark as inactive)
-    @Modifying
-    @Query("UPDATE Product p SET p.active = false WHERE p.productUuid = :uuid")
-    int deactivateProduct(@Param("uuid") String uuid);
-
     // Check if product exists and is active
     boolean existsByProductUuidAndActiveTrue(String productUuid);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.cloudfullstack.product.repository;
+
+import java.math.BigDecimal;
+
+// One recounted store or category counter (see ProductStatsService.reconcile)
+public interface ProductStatsCount {
+
+    String getStatsKey();
+
+    long getActiveCount();
+
+    Long getTotalStock();
+
+    BigDecimal getStockValue();
+}
@@ -0,0 +1,67 @@
+package com.cloudfullstack.product.repository;
+
+import com.cloudfullstack.product.entity.ProductStats;
+import com.cloudfullstack.product.entity.ProductStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ProductStatsRepository extends JpaRepository<ProductStats, ProductStatsId> {
+
+    // All counters of one dimension, by key
+    List<ProductStats> findByIdDimensionOrderByIdStatsKey(ProductStatsId.Dimension dimension);
+
+    // Add a delta to one counter row, creating the row on first use (single atomic statement).
+    // Native writes name their table, or Hibernate would drop every cached entity and query.
+    // Standard SQL MERGE as H2, PostgreSQL 15+, SQL Server and DB2 accept it; MySQL has no
+    // MERGE (use INSERT ... ON DUPLICATE KEY UPDATE) and Oracle needs USING (SELECT ... FROM dual).
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_stats"))
+    @Query(nativeQuery = true, value =
+        "MERGE INTO product_stats s " +
+        "USING (VALUES (CAST(:dimension AS VARCHAR(16)), CAST(:statsKey AS VARCHAR(255)))) AS v(dimension, stats_key) " +
+        "ON s.dimension = v.dimension AND s.stats_key = v.stats_key " +
+        "WHEN MATCHED THEN UPDATE SET active_count = s.active_count + :count, " +
+        "total_stock = s.total_stock + :stock, stock_value = s.stock_value + :stockValue " +
+        "WHEN NOT MATCHED THEN INSERT (dimension, stats_key, active_count, total_stock, stock_value) " +
+        "VALUES (v.dimension, v.stats_key, :count, :stock, :stockValue)")
+    int applyDelta(@Param("dimension") String dimension, @Param("statsKey") String statsKey,
+                   @Param("count") long count, @Param("stock") long stock,
+                   @Param("stockValue") BigDecimal stockValue);
+
+    // Stock-only change of one product: both of its counter rows in one statement. They
+    // exist for as long as the product is counted, so unlike applyDelta this never inserts.
+    @Modifying
+    @Query("UPDATE ProductStats s SET s.totalStock = s.totalStock + :stock, s.stockValue = s.stockValue + :stockValue " +
+           "WHERE (s.id.dimension = STORE AND s.id.statsKey = :storeId) " +
+           "OR (s.id.dimension = CATEGORY AND s.id.statsKey = :category)")
+    int applyStockDelta(@Param("storeId") String storeId, @Param("category") String category,
+                        @Param("stock") long stock, @Param("stockValue") BigDecimal stockValue);
+
+    // Every counter row, locked in primary-key order until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductStats s ORDER BY s.id.dimension, s.id.statsKey")
+    List<ProductStats> findAllForUpdate();
+
+    // Recount of the store counters from the products table
+    @Query("SELECT p.storeId AS statsKey, COUNT(p) AS activeCount, SUM(p.stock) AS totalStock, " +
+           "SUM(p.stock * p.price) AS stockValue FROM Product p WHERE p.active = true GROUP BY p.storeId")
+    List<ProductStatsCount> countByStore();
+
+    // Recount of the category counters from the products table
+    @Query("SELECT p.category AS statsKey, COUNT(p) AS activeCount, SUM(p.stock) AS totalStock, " +
+           "SUM(p.stock * p.price) AS stockValue FROM Product p " +
+           "WHERE p.active = true AND p.category IS NOT NULL GROUP BY p.category")
+    List<ProductStatsCount> countByCategory();
+}
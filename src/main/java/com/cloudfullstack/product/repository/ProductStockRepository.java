@@ -0,0 +1,11 @@
+package com.cloudfullstack.product.repository;
+
+import java.util.Optional;
+
+// Stock writes that hand back the updated row, mixed into ProductRepository
+public interface ProductStockRepository {
+
+    // Atomically decrement stock if enough is available and return the updated stock,
+    // price and grouping columns; empty if no active product had enough stock
+    Optional<ProductStockView> decrementStock(String uuid, int quantity);
+}
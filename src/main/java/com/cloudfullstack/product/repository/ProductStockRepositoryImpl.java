@@ -0,0 +1,140 @@
+package com.cloudfullstack.product.repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.util.ProductUuids;
+
+/**
+ * Purchases decrement stock with one UPDATE that also returns the updated row
+ * (through JDBC generated keys, which H2, PostgreSQL and Oracle fill for UPDATE),
+ * so the counters and the stock event need no read afterwards. Drivers that
+ * return nothing for an UPDATE (MySQL) fall back to reading the row, which the
+ * UPDATE keeps locked until commit.
+ *
+ * Hibernate does not see this write, so the product's second-level cache entry
+ * and the cached queries over products are invalidated here: immediately, and
+ * again after the transaction completes, because a load in between can still
+ * cache the old row.
+ */
+class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREMENT =
+        "UPDATE products SET stock = stock - ?, updated_at = LOCALTIMESTAMP " +
+        "WHERE product_uuid = ? AND stock >= ? AND active = TRUE";
+
+    private static final String[] RETURNED_COLUMNS = {"id", "stock", "price", "store_id", "category"};
+
+    private static final String READ_BACK =
+        "SELECT id, stock, price, store_id, category FROM products WHERE product_uuid = ?";
+
+    private static final String[] PRODUCT_TABLE = {"products"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<ProductStockView> decrementStock(String uuid, int quantity) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        byte[] uuidBytes = ProductUuids.toBytes(uuid);
+
+        Optional<StockRow> updated = session.doReturningWork(connection -> decrement(connection, uuid, uuidBytes, quantity));
+        updated.ifPresent(row -> invalidateCaches(session, row.id()));
+        return updated.map(ProductStockView.class::cast);
+    }
+
+    private static Optional<StockRow> decrement(Connection connection, String uuid, byte[] uuidBytes, int quantity)
+            throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(DECREMENT, RETURNED_COLUMNS)) {
+            update.setInt(1, quantity);
+            update.setBytes(2, uuidBytes);
+            update.setInt(3, quantity);
+            if (update.executeUpdate() == 0) {
+                return Optional.empty();
+            }
+            try (ResultSet keys = update.getGeneratedKeys()) {
+                if (keys.next() && keys.getMetaData().getColumnCount() == RETURNED_COLUMNS.length) {
+                    return Optional.of(StockRow.of(uuid, keys));
+                }
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement(READ_BACK)) {
+            select.setBytes(1, uuidBytes);
+            try (ResultSet row = select.executeQuery()) {
+                return row.next() ? Optional.of(StockRow.of(uuid, row)) : Optional.empty();
+            }
+        }
+    }
+
+    private static void invalidateCaches(SessionImplementor session, long id) {
+        SessionFactoryImplementor factory = session.getFactory();
+        if (!factory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return;
+        }
+        boolean queryCache = factory.getSessionFactoryOptions().isQueryCacheEnabled();
+        TimestampsCache timestamps = factory.getCache().getTimestampsCache();
+
+        factory.getCache().evictEntityData(Product.class, id);
+        if (queryCache) {
+            timestamps.preInvalidate(PRODUCT_TABLE, session);
+        }
+        session.getActionQueue().registerProcess((success, completed) -> {
+            factory.getCache().evictEntityData(Product.class, id);
+            if (queryCache) {
+                timestamps.invalidate(PRODUCT_TABLE, completed);
+            }
+        });
+    }
+
+    private record StockRow(long id, String productUuid, Integer stock, BigDecimal price, String storeId,
+                            String category) implements ProductStockView {
+
+        static StockRow of(String uuid, ResultSet row) throws SQLException {
+            return new StockRow(row.getLong(1), uuid, row.getInt(2), row.getBigDecimal(3), row.getString(4),
+                row.getString(5));
+        }
+
+        @Override
+        public String getProductUuid() {
+            return productUuid;
+        }
+
+        @Override
+        public Integer getStock() {
+            return stock;
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        @Override
+        public String getStoreId() {
+            return storeId;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        // Only active products are decremented
+        @Override
+        public Boolean getActive() {
+            return true;
+        }
+    }
+}
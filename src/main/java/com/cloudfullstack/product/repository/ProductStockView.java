@@ -0,0 +1,20 @@
+package com.cloudfullstack.product.repository;
+
+import java.math.BigDecimal;
+
+// Projection of the stock-related columns: seeds the low-stock watch and feeds the
+// store/category counters without loading full entities
+public interface ProductStockView {
+
+    String getProductUuid();
+
+    Integer getStock();
+
+    BigDecimal getPrice();
+
+    String getStoreId();
+
+    String getCategory();
+
+    Boolean getActive();
+}
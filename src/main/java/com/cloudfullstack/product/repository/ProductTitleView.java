@@ -0,0 +1,9 @@
+package com.cloudfullstack.product.repository;
+
+// Projection used to build the in-memory title index without loading full entities
+public interface ProductTitleView {
+
+    String getProductUuid();
+
+    String getTitle();
+}
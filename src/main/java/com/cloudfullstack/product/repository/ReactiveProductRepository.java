@@ -0,0 +1,126 @@
+package com.cloudfullstack.product.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.exception.InvalidProductDataException;
+import com.cloudfullstack.product.util.ProductUuids;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of the products table through R2DBC, for the reactive API.
+ *
+ * Same schema and same row-to-response shape as the JPA projections in
+ * {@link ProductRepository}, but rows are emitted as the subscriber requests them
+ * and no JDBC connection is held while a caller is slow to consume. Writes stay on JPA.
+ */
+@Repository
+public class ReactiveProductRepository {
+
+    private static final String RESPONSE = "SELECT product_uuid, title, description, price, store_id, category, "
+        + "stock, active, created_at, updated_at FROM products ";
+
+    // Same as RESPONSE without the TEXT column (returned as null)
+    private static final String SUMMARY = "SELECT product_uuid, title, CAST(NULL AS VARCHAR) AS description, price, "
+        + "store_id, category, stock, active, created_at, updated_at FROM products ";
+
+    // Sortable request fields and their columns; anything else is rejected rather than concatenated
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "createdAt", "created_at",
+        "updatedAt", "updated_at",
+        "title", "title",
+        "price", "price",
+        "stock", "stock",
+        "storeId", "store_id",
+        "category", "category"
+    );
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ProductResponse> findByProductUuid(String uuid) {
+        return databaseClient.sql(RESPONSE + "WHERE product_uuid = :uuid")
+            .bind("uuid", ProductUuids.toBytes(uuid))
+            .map(ReactiveProductRepository::toResponse)
+            .one();
+    }
+
+    public Flux<ProductResponse> findActiveByProductUuidIn(Collection<String> uuids) {
+        return databaseClient.sql(RESPONSE + "WHERE product_uuid IN (:uuids) AND active = TRUE")
+            .bind("uuids", uuids.stream().map(ProductUuids::toBytes).toList())
+            .map(ReactiveProductRepository::toResponse)
+            .all();
+    }
+
+    public Flux<ProductResponse> findAll(long offset, int limit, String sortBy, String sortDirection,
+                                         boolean includeDescription) {
+        String column = SORT_COLUMNS.get(sortBy);
+        if (column == null) {
+            return Flux.error(new InvalidProductDataException("Cannot sort by: " + sortBy));
+        }
+        String direction = "asc".equalsIgnoreCase(sortDirection) ? "ASC" : "DESC";
+
+        // id as tie-breaker keeps pages stable when the sort column has duplicates
+        return databaseClient.sql((includeDescription ? RESPONSE : SUMMARY)
+                + "ORDER BY " + column + " " + direction + ", id " + direction + " LIMIT :limit OFFSET :offset")
+            .bind("limit", limit)
+            .bind("offset", offset)
+            .map(ReactiveProductRepository::toResponse)
+            .all();
+    }
+
+    public Flux<ProductResponse> findActiveByStoreId(String storeId, boolean includeDescription) {
+        return databaseClient.sql((includeDescription ? RESPONSE : SUMMARY)
+                + "WHERE store_id = :storeId AND active = TRUE")
+            .bind("storeId", storeId)
+            .map(ReactiveProductRepository::toResponse)
+            .all();
+    }
+
+    public Flux<ProductResponse> searchActiveByTitle(String title, long offset, int limit) {
+        return databaseClient.sql(RESPONSE + "WHERE LOWER(title) LIKE :pattern AND active = TRUE "
+                + "LIMIT :limit OFFSET :offset")
+            .bind("pattern", "%" + title.toLowerCase(Locale.ROOT) + "%")
+            .bind("limit", limit)
+            .bind("offset", offset)
+            .map(ReactiveProductRepository::toResponse)
+            .all();
+    }
+
+    // Whole catalog (or one store) in id order, read as fast as the consumer drains it
+    public Flux<ProductResponse> streamActive(String storeId) {
+        DatabaseClient.GenericExecuteSpec spec = storeId == null
+            ? databaseClient.sql(RESPONSE + "WHERE active = TRUE ORDER BY id")
+            : databaseClient.sql(RESPONSE + "WHERE store_id = :storeId AND active = TRUE ORDER BY id")
+                .bind("storeId", storeId);
+        return spec.map(ReactiveProductRepository::toResponse).all();
+    }
+
+    private static ProductResponse toResponse(Readable row) {
+        return new ProductResponse(
+            ProductUuids.fromBytes(row.get("product_uuid", byte[].class)),
+            row.get("title", String.class),
+            row.get("description", String.class),
+            row.get("price", BigDecimal.class),
+            row.get("store_id", String.class),
+            row.get("category", String.class),
+            row.get("stock", Integer.class),
+            row.get("active", Boolean.class),
+            row.get("created_at", LocalDateTime.class),
+            row.get("updated_at", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,155 @@
+package com.cloudfullstack.product.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.cloudfullstack.product.config.ProductBatchLoaderProperties;
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.util.ProductUuids;
+
+/**
+ * DataLoader-style batching for single-product lookups: UUIDs requested within a
+ * short window are collected and resolved together with one product_uuid IN query.
+ * Concurrent requests for the same UUID share one pending result. Once the loader is
+ * shut down, every lookup is resolved at once on the calling thread.
+ */
+@Component
+public class ProductBatchLoader implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductBatchLoader.class);
+
+    private final ProductRepository productRepository;
+    private final ProductBatchLoaderProperties properties;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<String, CompletableFuture<Optional<ProductResponse>>> pending = new HashMap<>();
+    private boolean flushScheduled;
+    private boolean closed;
+
+    public ProductBatchLoader(ProductRepository productRepository, ProductBatchLoaderProperties properties,
+                              @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.executor = executor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Blocks until the batch containing this UUID has been resolved
+    public Optional<ProductResponse> load(String uuid) {
+        try {
+            return loadAsync(uuid).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public CompletableFuture<Optional<ProductResponse>> loadAsync(String uuid) {
+        CompletableFuture<Optional<ProductResponse>> result;
+        Map<String, CompletableFuture<Optional<ProductResponse>>> fullBatch = null;
+
+        // Results are keyed by the database's canonical form
+        String key = ProductUuids.canonical(uuid);
+        lock.lock();
+        try {
+            result = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (closed || pending.size() >= properties.getMaxBatchSize()) {
+                fullBatch = takePending();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return result;
+    }
+
+    // Later lookups no longer wait for a window, so nothing can be left pending
+    @Override
+    public void destroy() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        scheduler.shutdown();
+        flush();
+    }
+
+    private void flush() {
+        Map<String, CompletableFuture<Optional<ProductResponse>>> batch;
+        lock.lock();
+        try {
+            flushScheduled = false;
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private Map<String, CompletableFuture<Optional<ProductResponse>>> takePending() {
+        Map<String, CompletableFuture<Optional<ProductResponse>>> batch = pending;
+        pending = new HashMap<>();
+        return batch;
+    }
+
+    private void dispatch(Map<String, CompletableFuture<Optional<ProductResponse>>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> resolve(batch));
+        } catch (RejectedExecutionException ex) {
+            // The task executor is shutting down as well
+            resolve(batch);
+        }
+    }
+
+    private void resolve(Map<String, CompletableFuture<Optional<ProductResponse>>> batch) {
+        try {
+            Map<String, ProductResponse> found = productRepository.findResponsesByUuids(batch.keySet()).stream()
+                .collect(Collectors.toMap(ProductResponse::getProductUuid, Function.identity()));
+            logger.debug("Resolved batch of {} product lookups with one query", batch.size());
+            batch.forEach((uuid, future) -> future.complete(Optional.ofNullable(found.get(uuid))));
+        } catch (RuntimeException ex) {
+            batch.values().forEach(future -> future.completeExceptionally(ex));
+        }
+    }
+}
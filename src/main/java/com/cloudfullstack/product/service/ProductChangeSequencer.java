@@ -0,0 +1,114 @@
+package com.cloudfullstack.product.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cloudfullstack.product.config.ProductOutboxProperties;
+import com.cloudfullstack.product.entity.ProductChange;
+import com.cloudfullstack.product.repository.ProductChangeRepository;
+
+/**
+ * Assigns change-feed cursors and compacts the outbox.
+ *
+ * Record ids are taken when a mutation inserts, but mutations commit in any order,
+ * so a consumer paging by id could pass over a record that commits later. Instead,
+ * a single thread numbers committed records after the highest cursor so far, which
+ * makes cursors increase in commit order. Sequencers on other instances lose on the
+ * unique cursor or the record version and retry on their next round.
+ *
+ * Compaction keeps every change for product.outbox.retention. Beyond that it keeps
+ * only the latest change per product, so the outbox stays bounded by the catalog
+ * size, and reading from cursor 0 still reaches every product's latest change.
+ */
+@Component
+public class ProductChangeSequencer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeSequencer.class);
+
+    private final ProductChangeRepository productChangeRepository;
+    private final ProductOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private ScheduledExecutorService scheduler;
+
+    public ProductChangeSequencer(ProductChangeRepository productChangeRepository,
+                                  ProductOutboxProperties properties,
+                                  PlatformTransactionManager transactionManager) {
+        this.productChangeRepository = productChangeRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-change-sequencer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSequenceInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::sequence, interval, interval, TimeUnit.MILLISECONDS);
+        long compaction = properties.getCompactionInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::compact, compaction, compaction, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    // Number every committed record that has no cursor yet, one batch per transaction
+    public void sequence() {
+        try {
+            Integer sequenced;
+            do {
+                sequenced = transactionTemplate.execute(status -> sequenceBatch());
+            } while (sequenced != null && sequenced == properties.getBatchSize());
+        } catch (RuntimeException ex) {
+            logger.debug("Sequencing product changes failed, retrying next round", ex);
+        }
+    }
+
+    public void compact() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+            Integer removed = transactionTemplate.execute(status ->
+                productChangeRepository.deleteSupersededBefore(cutoff));
+            logger.info("Compacted {} superseded product changes older than {}", removed, cutoff);
+        } catch (RuntimeException ex) {
+            logger.warn("Compacting product changes failed: {}", ex.getMessage());
+        }
+    }
+
+    private int sequenceBatch() {
+        List<ProductChange> batch =
+            productChangeRepository.findUnsequenced(PageRequest.of(0, properties.getBatchSize()));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long next = productChangeRepository.findMaxSeq();
+        for (ProductChange change : batch) {
+            change.setSeq(++next);
+        }
+        return batch.size();
+    }
+}
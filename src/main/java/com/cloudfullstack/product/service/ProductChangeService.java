@@ -0,0 +1,79 @@
+package com.cloudfullstack.product.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cloudfullstack.product.config.ClusterCacheProperties;
+import com.cloudfullstack.product.dto.ProductChangeFeed;
+import com.cloudfullstack.product.dto.ProductChangeResponse;
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.entity.ProductChange;
+import com.cloudfullstack.product.entity.ProductChange.Type;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.event.ProductStockChangedEvent;
+import com.cloudfullstack.product.repository.ProductChangeRepository;
+
+/**
+ * Transactional outbox behind the product change feed.
+ *
+ * Every mutation in ProductService (and the bulk import) publishes a product event
+ * while its transaction is open. The listeners here run synchronously on that
+ * thread and append a change record in the same transaction, so a change is in the
+ * outbox exactly when the product change committed. Consumers read the records in
+ * cursor order and re-fetch the products they care about; other instances of this
+ * service read them to invalidate their caches (see ProductCacheInvalidator).
+ */
+@Service
+@Transactional
+public class ProductChangeService {
+
+    private final ProductChangeRepository productChangeRepository;
+    private final ClusterCacheProperties clusterCacheProperties;
+
+    @Autowired
+    public ProductChangeService(ProductChangeRepository productChangeRepository,
+                                ClusterCacheProperties clusterCacheProperties) {
+        this.productChangeRepository = productChangeRepository;
+        this.clusterCacheProperties = clusterCacheProperties;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductResponse product = event.product();
+        Type type = switch (event.type()) {
+            case CREATED -> Type.CREATED;
+            case UPDATED -> Type.UPDATED;
+            case DELETED -> Type.DELETED;
+        };
+        productChangeRepository.save(new ProductChange(event.productUuid(), type,
+            product == null ? null : product.getStock(), clusterCacheProperties.getInstanceId()));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        productChangeRepository.save(new ProductChange(event.productUuid(), Type.STOCK_CHANGED, event.stock(),
+            clusterCacheProperties.getInstanceId()));
+    }
+
+    // Changes after the cursor, oldest first; since = 0 starts from the oldest retained change
+    @Transactional(readOnly = true)
+    public ProductChangeFeed getChanges(long since, int limit) {
+        List<ProductChange> changes = productChangeRepository.findChangesAfter(since, PageRequest.of(0, limit + 1));
+        boolean hasMore = changes.size() > limit;
+        List<ProductChangeResponse> page = changes.stream()
+            .limit(limit)
+            .map(change -> new ProductChangeResponse(change.getSeq(), change.getProductUuid(),
+                change.getType().name(), change.getStock(), change.getChangedAt()))
+            .toList();
+        long nextCursor = page.isEmpty() ? since : page.get(page.size() - 1).getCursor();
+        return new ProductChangeFeed(page, nextCursor, hasMore);
+    }
+}
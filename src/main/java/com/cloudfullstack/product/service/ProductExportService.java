@@ -0,0 +1,93 @@
+package com.cloudfullstack.product.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.mapper.ProductMapper;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Streams products as newline-delimited JSON. Rows are read through a cursor and
+ * detached once written, so memory use does not grow with the number of products.
+ * An export neither reads nor fills the second-level cache, so a full-catalog export
+ * does not push the hot products out of it.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportService.class);
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ProductExportService(ProductRepository productRepository, ProductMapper productMapper,
+                                ObjectMapper objectMapper, EntityManager entityManager) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    // Export active products, optionally restricted to one store; returns the row count
+    @Transactional(readOnly = true)
+    public long exportProducts(String storeId, OutputStream out) throws IOException {
+        logger.info("Exporting products for store: {}", storeId == null ? "<all>" : storeId);
+
+        ObjectWriter writer = objectMapper.writerFor(ProductResponse.class);
+        long count = 0;
+
+        // The cache-mode hint on the streaming finders only covers opening the cursor; the rows
+        // are loaded while iterating, under the session's cache mode
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+
+        try (Stream<Product> products = storeId == null
+                 ? productRepository.streamAllByActiveTrueOrderById()
+                 : productRepository.streamByStoreIdAndActiveTrueOrderById(storeId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                writer.writeValue(generator, productMapper.toResponse(product));
+                generator.writeRaw('\n');
+                entityManager.detach(product);
+
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+
+        logger.info("Exported {} products", count);
+        return count;
+    }
+}
@@ -0,0 +1,196 @@
+package com.cloudfullstack.product.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cloudfullstack.product.config.ProductImportProperties;
+import com.cloudfullstack.product.dto.BulkImportResponse;
+import com.cloudfullstack.product.dto.BulkImportResponse.RowError;
+import com.cloudfullstack.product.dto.CreateProductRequest;
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.mapper.ProductMapper;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports products from a JSON array or NDJSON stream. Rows are parsed one at a
+ * time, validated, and inserted in chunks that each run in their own transaction
+ * with JDBC batching, so a bad row never rolls back the rest of the import. Only the
+ * first {@code product.import.max-errors} row errors are kept for the response; every
+ * rejected row is still counted.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductImportProperties properties;
+    private final ProductStatsService productStatsService;
+
+    @Autowired
+    public ProductImportService(ProductMapper productMapper, ObjectMapper objectMapper, Validator validator,
+                                EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher, ProductImportProperties properties,
+                                ProductStatsService productStatsService) {
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.productStatsService = productStatsService;
+    }
+
+    public BulkImportResponse importProducts(InputStream body) throws IOException {
+        long start = System.nanoTime();
+        int batchSize = properties.getBatchSize();
+        logger.info("Starting bulk product import with batch size: {}", batchSize);
+
+        RowErrors errors = new RowErrors(properties.getMaxErrors());
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+        long received = 0;
+        long imported = 0;
+
+        try (MappingIterator<CreateProductRequest> rows =
+                 objectMapper.readerFor(CreateProductRequest.class).readValues(body)) {
+            while (true) {
+                CreateProductRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (JsonParseException ex) {
+                    // The stream itself is broken; nothing after this point can be read
+                    errors.add(new RowError(received++, List.of("Malformed JSON: " + ex.getOriginalMessage())));
+                    break;
+                } catch (JsonMappingException ex) {
+                    errors.add(new RowError(received++, List.of("Invalid row: " + ex.getOriginalMessage())));
+                    continue;
+                }
+
+                long row = received++;
+                Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    errors.add(new RowError(row, violations.stream().map(ConstraintViolation::getMessage).toList()));
+                    continue;
+                }
+
+                chunk.add(new PendingRow(row, request));
+                if (chunk.size() >= batchSize) {
+                    imported += persistChunk(chunk, errors);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += persistChunk(chunk, errors);
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = durationMillis == 0 ? imported : imported * 1000.0 / durationMillis;
+
+        logger.info("Bulk import finished - received: {}, imported: {}, failed: {}, {} rows/s",
+            received, imported, errors.count(), Math.round(rowsPerSecond));
+        return new BulkImportResponse(received, imported, errors.count(), errors.recorded(), durationMillis,
+            rowsPerSecond);
+    }
+
+    // Insert one chunk in a single batched transaction; on failure retry row by row to pinpoint bad rows
+    private int persistChunk(List<PendingRow> chunk, RowErrors errors) {
+        try {
+            return insert(chunk);
+        } catch (RuntimeException ex) {
+            logger.warn("Batch insert of {} rows failed, retrying individually: {}", chunk.size(), ex.getMessage());
+        }
+
+        int inserted = 0;
+        for (PendingRow pending : chunk) {
+            try {
+                inserted += insert(List.of(pending));
+            } catch (RuntimeException ex) {
+                errors.add(new RowError(pending.row(), List.of("Insert failed: " + ex.getMessage())));
+            }
+        }
+        return inserted;
+    }
+
+    private int insert(List<PendingRow> rows) {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(properties.getBatchSize());
+
+            List<Product> products = new ArrayList<>(rows.size());
+            for (PendingRow pending : rows) {
+                Product product = productMapper.toEntity(pending.request());
+                entityManager.persist(product);
+                products.add(product);
+            }
+            entityManager.flush();
+            productStatsService.recordCreated(products);
+
+            for (Product product : products) {
+                eventPublisher.publishEvent(ProductChangedEvent.created(productMapper.toResponse(product)));
+            }
+            // Write the change records the events added before detaching everything
+            entityManager.flush();
+            entityManager.clear();
+            return products.size();
+        });
+    }
+
+    private record PendingRow(long row, CreateProductRequest request) {
+    }
+
+    // Counts every rejected row but keeps only the first few, so a bad file cannot fill the heap
+    private static final class RowErrors {
+
+        private final int limit;
+        private final List<RowError> recorded = new ArrayList<>();
+        private long count;
+
+        RowErrors(int limit) {
+            this.limit = limit;
+        }
+
+        void add(RowError error) {
+            count++;
+            if (recorded.size() < limit) {
+                recorded.add(error);
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        List<RowError> recorded() {
+            return recorded;
+        }
+    }
+}
@@ -1,27 +1,56 @@
 package com.cloudfullstack.product.service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.cloudfullstack.product.config.CacheConfig;
+import com.cloudfullstack.product.config.ProductBrowseProperties;
 import com.cloudfullstack.product.dto.CreateProductRequest;
+import com.cloudfullstack.product.dto.ProductBrowsePage;
+import com.cloudfullstack.product.dto.ProductCursorPage;
 import com.cloudfullstack.product.dto.ProductResponse;
 import com.cloudfullstack.product.dto.UpdateProductRequest;
 import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.entity.ProductStatsId.Dimension;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.event.ProductStockChangedEvent;
 import com.cloudfullstack.product.exception.InsufficientStockException;
+import com.cloudfullstack.product.exception.InvalidProductDataException;
 import com.cloudfullstack.product.exception.ProductNotFoundException;
+import com.cloudfullstack.product.index.LowStockWatch;
+import com.cloudfullstack.product.index.ProductFacetCollector;
+import com.cloudfullstack.product.index.ProductPriceIndex;
+import com.cloudfullstack.product.index.ProductTitleIndex;
+import com.cloudfullstack.product.index.ProductUuidFilter;
 import com.cloudfullstack.product.mapper.ProductMapper;
+import com.cloudfullstack.product.metrics.MeteredCaffeineCache;
+import com.cloudfullstack.product.repository.ProductPriceView;
 import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.repository.ProductStockView;
+import com.cloudfullstack.product.service.ProductStatsService.Position;
+import com.cloudfullstack.product.util.ProductUuids;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -30,66 +59,183 @@ public class ProductService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
 
+    // Most UUIDs bound into one IN query
+    private static final int IN_QUERY_CHUNK_SIZE = 500;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductTitleIndex productTitleIndex;
+    private final ProductPriceIndex productPriceIndex;
+    private final LowStockWatch lowStockWatch;
+    private final ProductStatsService productStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductBatchLoader productBatchLoader;
+    private final ProductUuidFilter productUuidFilter;
+    private final ProductBrowseProperties browseProperties;
+    private final CacheManager cacheManager;
 
     @Autowired
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    public ProductService(ProductRepository productRepository, ProductMapper productMapper,
+                          ProductTitleIndex productTitleIndex, ProductPriceIndex productPriceIndex,
+                          LowStockWatch lowStockWatch, ProductStatsService productStatsService,
+                          ApplicationEventPublisher eventPublisher, ProductBatchLoader productBatchLoader,
+                          ProductUuidFilter productUuidFilter, ProductBrowseProperties browseProperties,
+                          CacheManager cacheManager) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.productTitleIndex = productTitleIndex;
+        this.productPriceIndex = productPriceIndex;
+        this.lowStockWatch = lowStockWatch;
+        this.productStatsService = productStatsService;
+        this.eventPublisher = eventPublisher;
+        this.productBatchLoader = productBatchLoader;
+        this.productUuidFilter = productUuidFilter;
+        this.browseProperties = browseProperties;
+        this.cacheManager = cacheManager;
     }
 
     // Create new product
     public ProductResponse createProduct(CreateProductRequest request) {
         logger.info("Creating new product with title: {}", request.getTitle());
 
+        // Flushed so the timestamps exist before the response and the event are built;
+        // with a pooled sequence id the INSERT would otherwise wait until commit
         Product product = productMapper.toEntity(request);
-        Product savedProduct = productRepository.save(product);
+        Product savedProduct = productRepository.saveAndFlush(product);
+        productStatsService.recordChange(null, Position.of(savedProduct));
 
         logger.info("Product created successfully with UUID: {}", savedProduct.getProductUuid());
-        return productMapper.toResponse(savedProduct);
+        ProductResponse response = productMapper.toResponse(savedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.created(response));
+        return response;
     }
 
     // Get all products with pagination
     @Transactional(readOnly = true)
-    public Page<ProductResponse> getAllProducts(int page, int size, String sortBy, String sortDirection) {
+    public Page<ProductResponse> getAllProducts(int page, int size, String sortBy, String sortDirection,
+                                                boolean includeDescription) {
         logger.info("Fetching products - page: {}, size: {}, sort: {} {}", page, size, sortBy, sortDirection);
 
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Product> products = productRepository.findAll(pageable);
-        return products.map(productMapper::toResponse);
+        return includeDescription
+            ? productRepository.findAllResponses(pageable)
+            : productRepository.findAllSummaries(pageable);
     }
 
-    // Get product by UUID
+    // Get products with keyset pagination (no OFFSET, no COUNT)
     @Transactional(readOnly = true)
-    @Cacheable(value = "products", key = "#uuid")
+    public ProductCursorPage getProductsAfter(String cursor, int size) {
+        logger.info("Fetching products after cursor: {}, size: {}", cursor, size);
+
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<Product> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.findAllByOrderByCreatedAtDescIdDesc(pageable);
+        } else {
+            ProductCursor position = ProductCursor.decode(cursor);
+            products = productRepository.findPageAfter(position.createdAt(), position.id(), pageable);
+        }
+
+        List<Product> content = products.getContent();
+        String nextCursor = products.hasNext() && !content.isEmpty()
+            ? ProductCursor.of(content.get(content.size() - 1)).encode()
+            : null;
+
+        return new ProductCursorPage(productMapper.toResponseList(content), nextCursor, products.hasNext(), size);
+    }
+
+    // Get product by UUID; no surrounding transaction, so a batched miss holds no connection while it waits
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Cacheable(value = "products", key = "#uuid", sync = true)
     public ProductResponse getProductByUuid(String uuid) {
         logger.info("Fetching product with UUID: {}", uuid);
+        requireValidUuid(uuid);
+        if (!productUuidFilter.mightExist(uuid)) {
+            throw new ProductNotFoundException("Product not found with UUID: " + uuid);
+        }
+
+        if (productBatchLoader.isEnabled()) {
+            return productBatchLoader.load(uuid)
+                .orElseThrow(() -> missingProduct(uuid));
+        }
 
         Product product = productRepository.findByProductUuid(uuid)
-            .orElseThrow(() -> new ProductNotFoundException("Product not found with UUID: " + uuid));
+            .orElseThrow(() -> missingProduct(uuid));
 
         return productMapper.toResponse(product);
     }
 
+    // Get several products by UUID: one bulk cache lookup, then one IN query for the misses.
+    // Results follow the request order; unknown or malformed UUIDs are left out. Misses are
+    // not put into the cache: a plain put could land after a concurrent update's eviction and
+    // pin the old row, which the single-product path avoids by loading inside the cache.
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getProductsByUuids(List<String> uuids) {
+        List<String> keys = uuids.stream()
+            .filter(ProductUuids::isValid)
+            .map(ProductUuids::canonical)
+            .distinct()
+            .toList();
+        logger.info("Fetching {} products by UUID", keys.size());
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, ProductResponse> found = new HashMap<>(keys.size());
+        Cache productCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = nativeCache(productCache);
+        if (cache != null) {
+            cache.getAllPresent(keys).forEach((key, value) -> {
+                if (value instanceof ProductResponse product) {
+                    found.put((String) key, product);
+                }
+            });
+        }
+
+        List<String> misses = keys.stream().filter(key -> !found.containsKey(key)).toList();
+        if (productCache instanceof MeteredCaffeineCache meteredCache) {
+            meteredCache.record(keys.size() - misses.size(), misses.size());
+        }
+        List<String> candidates = misses.stream().filter(productUuidFilter::mightExist).toList();
+        if (!candidates.isEmpty()) {
+            for (ProductResponse product : productRepository.findResponsesByUuids(candidates)) {
+                found.put(product.getProductUuid(), product);
+            }
+            candidates.stream()
+                .filter(key -> !found.containsKey(key))
+                .forEach(productUuidFilter::recordMissing);
+        }
+        logger.info("Resolved {} of {} products, {} from cache", found.size(), keys.size(), keys.size() - misses.size());
+
+        return keys.stream()
+            .map(found::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
     // Get products by store
     @Transactional(readOnly = true)
-    public List<ProductResponse> getProductsByStore(String storeId) {
+    public List<ProductResponse> getProductsByStore(String storeId, boolean includeDescription) {
         logger.info("Fetching products for store: {}", storeId);
 
-        List<Product> products = productRepository.findByStoreIdAndActiveTrue(storeId);
-        return productMapper.toResponseList(products);
+        return includeDescription
+            ? productRepository.findResponsesByStoreId(storeId)
+            : productRepository.findSummariesByStoreId(storeId);
     }
 
-    // Search products by title
+    // Search products by title (ranked by the in-memory title index)
     @Transactional(readOnly = true)
-    public List<ProductResponse> searchProducts(String title) {
-        logger.info("Searching products with title containing: {}", title);
+    public List<ProductResponse> searchProducts(String title, int page, int size) {
+        logger.info("Searching products with title containing: {} - page: {}, size: {}", title, page, size);
 
-        List<Product> products = productRepository.searchByTitle(title);
-        return productMapper.toResponseList(products);
+        if (!productTitleIndex.isReady()) {
+            logger.info("Title index not ready, falling back to database search");
+            return productRepository.searchResponsesByTitle(title, PageRequest.of(page, size));
+        }
+
+        return findActiveInOrder(productTitleIndex.search(title, (long) page * size, size));
     }
 
     // Get products by price range
@@ -97,88 +243,250 @@ public class ProductService {
     public List<ProductResponse> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
         logger.info("Fetching products with price between {} and {}", minPrice, maxPrice);
 
-        List<Product> products = productRepository.findByPriceBetweenAndActiveTrue(minPrice, maxPrice);
-        return productMapper.toResponseList(products);
+        return productRepository.findResponsesByPriceBetween(minPrice, maxPrice);
+    }
+
+    // Browse active products by price range, cheapest first (in-memory price index)
+    @Transactional(readOnly = true)
+    public List<ProductResponse> browseProductsByPrice(BigDecimal minPrice, BigDecimal maxPrice, String category,
+                                                       String storeId, int offset, int limit) {
+        logger.info("Browsing products priced {} - {}, category: {}, store: {}, offset: {}, limit: {}",
+            minPrice, maxPrice, category, storeId, offset, limit);
+
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidProductDataException("minPrice must not be greater than maxPrice");
+        }
+
+        if (!productPriceIndex.isReady()) {
+            logger.info("Price index not ready, falling back to database query");
+            return productRepository.findResponsesByPriceRange(minPrice, maxPrice, category, storeId,
+                    PageRequest.of(0, offset + limit)).stream()
+                .skip(offset)
+                .toList();
+        }
+
+        return findActiveInOrder(productPriceIndex.search(minPrice, maxPrice, category, storeId, offset, limit));
+    }
+
+    // Browse active products by category, store and price, cheapest first, with facet counts
+    // collected in the same pass over the price index
+    @Transactional(readOnly = true)
+    public ProductBrowsePage browseProducts(String category, String storeId, BigDecimal minPrice,
+                                            BigDecimal maxPrice, int page, int size) {
+        logger.info("Browsing products, category: {}, store: {}, price: {} - {}, page: {}, size: {}",
+            category, storeId, minPrice, maxPrice, page, size);
+
+        if (maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidProductDataException("minPrice must not be greater than maxPrice");
+        }
+
+        ProductFacetCollector collector = new ProductFacetCollector(category, storeId, minPrice, maxPrice,
+            browseProperties.getPriceBuckets(), page * size, size);
+        if (productPriceIndex.isReady()) {
+            productPriceIndex.browse(collector);
+        } else {
+            logger.info("Price index not ready, collecting facets from the database");
+            productRepository.findPricesByActiveTrue().stream()
+                .filter(view -> view.getPrice() != null)
+                .sorted(Comparator.comparing(ProductPriceView::getPrice).thenComparing(ProductPriceView::getProductUuid))
+                .forEach(view -> collector.accept(view.getProductUuid(),
+                    ProductFacetCollector.toCents(view.getPrice()), view.getStoreId(), view.getCategory()));
+        }
+
+        List<ProductResponse> content = findActiveInOrder(collector.productUuids());
+        int totalPages = (int) ((collector.total() + size - 1) / size);
+        return new ProductBrowsePage(content, page, size, collector.total(), totalPages,
+            new ProductBrowsePage.Facets(collector.categoryCounts(), collector.storeCounts(), priceBuckets(collector)));
     }
 
     // Update product
     @CacheEvict(value = "products", key = "#uuid")
     public ProductResponse updateProduct(String uuid, UpdateProductRequest request) {
         logger.info("Updating product with UUID: {}", uuid);
+        requireValidUuid(uuid);
 
-        Product product = productRepository.findByProductUuid(uuid)
+        // Lock the row so the position the counters subtract cannot change underneath us
+        Product product = productRepository.findForUpdateByProductUuid(uuid)
             .orElseThrow(() -> new ProductNotFoundException("Product not found with UUID: " + uuid));
 
+        Position before = Position.of(product);
         productMapper.updateEntityFromRequest(request, product);
         Product updatedProduct = productRepository.save(product);
+        productStatsService.recordChange(before, Position.of(updatedProduct));
 
         logger.info("Product updated successfully with UUID: {}", uuid);
-        return productMapper.toResponse(updatedProduct);
+        ProductResponse response = productMapper.toResponse(updatedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(response));
+        return response;
     }
 
     // Update stock quantity
     @CacheEvict(value = "products", key = "#uuid")
     public void updateStock(String uuid, Integer quantity) {
         logger.info("Updating stock for product UUID: {} to quantity: {}", uuid, quantity);
+        requireValidUuid(uuid);
 
-        if (!productRepository.existsByProductUuidAndActiveTrue(uuid)) {
-            throw new ProductNotFoundException("Product not found with UUID: " + uuid);
-        }
+        // Lock the row so the previous stock used for the counters cannot change underneath us
+        Product product = productRepository.findForUpdateByProductUuid(uuid)
+            .filter(Product::getActive)
+            .orElseThrow(() -> new ProductNotFoundException("Product not found with UUID: " + uuid));
 
-        int updatedRows = productRepository.updateStock(uuid, quantity);
-        if (updatedRows == 0) {
-            throw new ProductNotFoundException("Failed to update stock for product UUID: " + uuid);
-        }
+        // Written through the managed entity, so only this product's second-level cache entry changes
+        Position before = Position.of(product);
+        product.setStock(quantity);
+        productStatsService.recordStockChange(before, quantity);
+
+        eventPublisher.publishEvent(ProductStockChangedEvent.of(uuid, quantity));
 
         logger.info("Stock updated successfully for product UUID: {}", uuid);
     }
 
+    // Apply coalesced stock sets (the last quantity per UUID) in one transaction: one locking
+    // IN query, then Hibernate sends the updates as a single JDBC batch. Unknown or inactive
+    // products are skipped; returns the UUIDs that were updated.
+    public List<String> setStocks(Map<String, Integer> stockByUuid) {
+        logger.info("Applying {} coalesced stock updates", stockByUuid.size());
+
+        // Loaded products carry the canonical UUID, so look quantities up by it
+        Map<String, Integer> stocks = new HashMap<>(stockByUuid.size() * 2);
+        stockByUuid.forEach((uuid, quantity) -> stocks.put(ProductUuids.canonical(uuid), quantity));
+
+        List<Product> products = productRepository.findForUpdateByProductUuidIn(stocks.keySet());
+        List<Position> before = new ArrayList<>(products.size());
+        List<Position> after = new ArrayList<>(products.size());
+        List<String> updated = new ArrayList<>(products.size());
+        for (Product product : products) {
+            if (!Boolean.TRUE.equals(product.getActive())) {
+                continue;
+            }
+            String uuid = product.getProductUuid();
+            int quantity = stocks.get(uuid);
+            Position previous = Position.of(product);
+            product.setStock(quantity);
+
+            before.add(previous);
+            after.add(previous.withStock(quantity));
+            updated.add(uuid);
+            eventPublisher.publishEvent(ProductStockChangedEvent.of(uuid, quantity));
+        }
+        productStatsService.recordChanges(before, after);
+
+        if (updated.size() < stockByUuid.size()) {
+            logger.info("Skipped {} stock updates for unknown or inactive products", stockByUuid.size() - updated.size());
+        }
+        return updated;
+    }
+
     // Reduce stock (for purchases)
     @CacheEvict(value = "products", key = "#uuid")
     public void reduceStock(String uuid, Integer quantity) {
         logger.info("Reducing stock for product UUID: {} by quantity: {}", uuid, quantity);
+        requireValidUuid(uuid);
 
-        Product product = productRepository.findByProductUuid(uuid)
-            .orElseThrow(() -> new ProductNotFoundException("Product not found with UUID: " + uuid));
+        // Single conditional UPDATE that returns the updated row; only read again to explain a failure
+        ProductStockView view = productRepository.decrementStock(uuid, quantity)
+            .orElseThrow(() -> decrementFailure(uuid, quantity));
 
-        if (product.getStock() < quantity) {
-            throw new InsufficientStockException(
-                "Insufficient stock. Available: " + product.getStock() + ", Requested: " + quantity);
-        }
-
-        product.setStock(product.getStock() - quantity);
-        productRepository.save(product);
+        Position after = Position.of(view);
+        productStatsService.recordStockChange(after.withStock(view.getStock() + quantity), view.getStock());
+        eventPublisher.publishEvent(ProductStockChangedEvent.of(uuid, view.getStock()));
 
         logger.info("Stock reduced successfully for product UUID: {}", uuid);
     }
 
+    // Why a decrement matched no row
+    private RuntimeException decrementFailure(String uuid, int quantity) {
+        if (!productRepository.existsByProductUuidAndActiveTrue(uuid)) {
+            return new ProductNotFoundException("Product not found with UUID: " + uuid);
+        }
+        return new InsufficientStockException(
+            "Insufficient stock for product UUID: " + uuid + ", Requested: " + quantity);
+    }
+
     // Soft delete product
     @CacheEvict(value = "products", key = "#uuid")
     public void deleteProduct(String uuid) {
         logger.info("Deleting product with UUID: {}", uuid);
+        requireValidUuid(uuid);
 
-        int updatedRows = productRepository.deactivateProduct(uuid);
-        if (updatedRows == 0) {
-            throw new ProductNotFoundException("Product not found with UUID: " + uuid);
-        }
+        Product product = productRepository.findForUpdateByProductUuid(uuid)
+            .orElseThrow(() -> new ProductNotFoundException("Product not found with UUID: " + uuid));
+
+        Position before = Position.of(product);
+        product.setActive(false);
+        productStatsService.recordChange(before, null);
 
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(uuid));
         logger.info("Product deleted successfully with UUID: {}", uuid);
     }
 
-    // Get low stock products
+    // Get low stock products (from the in-memory low-stock watch when it covers the threshold)
     @Transactional(readOnly = true)
     public List<ProductResponse> getLowStockProducts(Integer threshold) {
         logger.info("Fetching products with stock below: {}", threshold);
 
-        List<Product> products = productRepository.findLowStockProducts(threshold);
-        return productMapper.toResponseList(products);
+        if (lowStockWatch.covers(threshold)) {
+            return findActiveInOrder(lowStockWatch.findBelow(threshold));
+        }
+        return productRepository.findLowStockResponses(threshold);
     }
 
-    // Get product count by store
+    // Get product count by store (maintained counter, no COUNT query)
     @Transactional(readOnly = true)
     public long getProductCountByStore(String storeId) {
         logger.info("Counting products for store: {}", storeId);
 
-        return productRepository.countByStoreIdAndActiveTrue(storeId);
+        return productStatsService.getStats(Dimension.STORE, storeId).getActiveCount();
+    }
+
+    // Load products found through an in-memory index, keeping the index order;
+    // anything deactivated since it was indexed is not returned
+    private List<ProductResponse> findActiveInOrder(List<String> uuids) {
+        if (uuids.isEmpty()) {
+            return List.of();
+        }
+
+        // Chunked, so a long index result (e.g. every low-stock product) never becomes one huge IN list
+        Map<String, ProductResponse> productsByUuid = new HashMap<>();
+        for (int from = 0; from < uuids.size(); from += IN_QUERY_CHUNK_SIZE) {
+            List<String> chunk = uuids.subList(from, Math.min(from + IN_QUERY_CHUNK_SIZE, uuids.size()));
+            for (ProductResponse product : productRepository.findResponsesByProductUuidIn(chunk)) {
+                productsByUuid.put(product.getProductUuid(), product);
+            }
+        }
+
+        return uuids.stream()
+            .map(productsByUuid::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    private static List<ProductBrowsePage.PriceBucket> priceBuckets(ProductFacetCollector collector) {
+        long[] bounds = collector.priceBucketBounds();
+        long[] counts = collector.priceBucketCounts();
+        List<ProductBrowsePage.PriceBucket> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            BigDecimal from = i == 0 ? BigDecimal.ZERO.setScale(2) : BigDecimal.valueOf(bounds[i - 1], 2);
+            BigDecimal to = i < bounds.length ? BigDecimal.valueOf(bounds[i], 2) : null;
+            buckets.add(new ProductBrowsePage.PriceBucket(from, to, counts[i]));
+        }
+        return buckets;
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(Cache cache) {
+        return cache instanceof CaffeineCache caffeineCache ? caffeineCache.getNativeCache() : null;
+    }
+
+    // Remember the UUID as unknown for a short while, see ProductUuidFilter
+    private ProductNotFoundException missingProduct(String uuid) {
+        productUuidFilter.recordMissing(uuid);
+        return new ProductNotFoundException("Product not found with UUID: " + uuid);
+    }
+
+    // Malformed UUIDs can never match a product, so reject them without a query
+    private void requireValidUuid(String uuid) {
+        if (!ProductUuids.isValid(uuid)) {
+            throw new ProductNotFoundException("Product not found with UUID: " + uuid);
+        }
     }
 }
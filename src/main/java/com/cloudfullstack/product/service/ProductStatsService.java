@@ -0,0 +1,213 @@
+package com.cloudfullstack.product.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cloudfullstack.product.dto.ProductStatsResponse;
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.entity.ProductStats;
+import com.cloudfullstack.product.entity.ProductStatsId;
+import com.cloudfullstack.product.entity.ProductStatsId.Dimension;
+import com.cloudfullstack.product.repository.ProductStatsCount;
+import com.cloudfullstack.product.repository.ProductStatsRepository;
+import com.cloudfullstack.product.repository.ProductStockView;
+
+/**
+ * Maintains per-store and per-category counters (active products, total stock,
+ * stock value) in the product_stats table.
+ *
+ * Every product mutation records its before/after position here inside its own
+ * transaction, so the counters commit or roll back together with the product.
+ * Reads are primary-key lookups; a full recount only runs at startup or when
+ * {@link #reconcile()} is called. Counter rows are always written and locked in
+ * primary-key order, so two transactions touching the same rows cannot deadlock.
+ */
+@Service
+@Transactional
+public class ProductStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductStatsService.class);
+
+    // Primary-key order of product_stats (dimension is stored by name)
+    private static final Comparator<ProductStatsId> ROW_ORDER =
+        Comparator.comparing((ProductStatsId id) -> id.getDimension().name()).thenComparing(ProductStatsId::getStatsKey);
+
+    private final ProductStatsRepository productStatsRepository;
+
+    @Autowired
+    public ProductStatsService(ProductStatsRepository productStatsRepository) {
+        this.productStatsRepository = productStatsRepository;
+    }
+
+    // Apply the difference between two positions of one product; either side may be null
+    public void recordChange(Position before, Position after) {
+        Map<ProductStatsId, Delta> deltas = new TreeMap<>(ROW_ORDER);
+        if (before != null) {
+            before.addTo(deltas, -1);
+        }
+        if (after != null) {
+            after.addTo(deltas, 1);
+        }
+        apply(deltas);
+    }
+
+    // Apply a stock-only change of one product with a single statement
+    public void recordStockChange(Position before, int stock) {
+        int stockDelta = stock - before.stock();
+        if (!before.active() || stockDelta == 0) {
+            return;
+        }
+        productStatsRepository.applyStockDelta(before.storeId(), before.category(), stockDelta,
+            before.price().multiply(BigDecimal.valueOf(stockDelta)));
+    }
+
+    // Apply the before/after positions of several products (same order in both lists)
+    // with one statement per affected store and category
+    public void recordChanges(List<Position> before, List<Position> after) {
+        Map<ProductStatsId, Delta> deltas = new TreeMap<>(ROW_ORDER);
+        for (int i = 0; i < before.size(); i++) {
+            before.get(i).addTo(deltas, -1);
+            after.get(i).addTo(deltas, 1);
+        }
+        apply(deltas);
+    }
+
+    // Apply newly inserted products with one statement per affected store and category
+    public void recordCreated(Collection<Product> products) {
+        Map<ProductStatsId, Delta> deltas = new TreeMap<>(ROW_ORDER);
+        for (Product product : products) {
+            Position.of(product).addTo(deltas, 1);
+        }
+        apply(deltas);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductStatsResponse getStats(Dimension dimension, String key) {
+        return productStatsRepository.findById(new ProductStatsId(dimension, key))
+            .map(this::toResponse)
+            .orElseGet(() -> new ProductStatsResponse(dimension.name(), key, 0, 0, BigDecimal.ZERO));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductStatsResponse> getAllStats(Dimension dimension) {
+        return productStatsRepository.findByIdDimensionOrderByIdStatsKey(dimension).stream()
+            .map(this::toResponse)
+            .toList();
+    }
+
+    // Recount every counter from the products table. The existing rows are locked first:
+    // a mutation that already applied its delta is waited for and so is in the recount,
+    // one that has not waits for this transaction and adds its delta on top. Rows no
+    // longer backed by any product are zeroed rather than deleted, so such a waiting
+    // delta still finds its row.
+    @EventListener(ApplicationReadyEvent.class)
+    public int reconcile() {
+        long start = System.currentTimeMillis();
+        Map<ProductStatsId, ProductStats> rows = new HashMap<>();
+        for (ProductStats row : productStatsRepository.findAllForUpdate()) {
+            rows.put(row.getId(), row);
+        }
+
+        Map<ProductStatsId, ProductStatsCount> counts = new HashMap<>();
+        productStatsRepository.countByStore()
+            .forEach(count -> counts.put(new ProductStatsId(Dimension.STORE, count.getStatsKey()), count));
+        productStatsRepository.countByCategory()
+            .forEach(count -> counts.put(new ProductStatsId(Dimension.CATEGORY, count.getStatsKey()), count));
+
+        rows.forEach((id, row) -> {
+            if (!counts.containsKey(id)) {
+                row.setCounts(0, 0, BigDecimal.ZERO);
+            }
+        });
+        counts.forEach((id, count) -> {
+            ProductStats row = rows.containsKey(id) ? rows.get(id) : new ProductStats(id);
+            row.setCounts(count.getActiveCount(), count.getTotalStock(), count.getStockValue());
+            if (!rows.containsKey(id)) {
+                productStatsRepository.save(row);
+            }
+        });
+        logger.info("Product stats reconciled: {} counter rows in {} ms", counts.size(), System.currentTimeMillis() - start);
+        return counts.size();
+    }
+
+    // Deltas are keyed in ROW_ORDER, so the row locks are taken in that order
+    private void apply(Map<ProductStatsId, Delta> deltas) {
+        deltas.forEach((id, delta) -> {
+            if (!delta.isZero()) {
+                productStatsRepository.applyDelta(id.getDimension().name(), id.getStatsKey(),
+                    delta.count, delta.stock, delta.stockValue);
+            }
+        });
+    }
+
+    private ProductStatsResponse toResponse(ProductStats stats) {
+        return new ProductStatsResponse(stats.getId().getDimension().name(), stats.getId().getStatsKey(),
+            stats.getActiveCount(), stats.getTotalStock(), stats.getStockValue());
+    }
+
+    /**
+     * What one product contributes to its store and category counters. Inactive
+     * products contribute nothing.
+     */
+    public record Position(String storeId, String category, boolean active, int stock, BigDecimal price) {
+
+        public static Position of(Product product) {
+            return new Position(product.getStoreId(), product.getCategory(),
+                Boolean.TRUE.equals(product.getActive()), product.getStock(), product.getPrice());
+        }
+
+        public static Position of(ProductStockView view) {
+            return new Position(view.getStoreId(), view.getCategory(),
+                Boolean.TRUE.equals(view.getActive()), view.getStock(), view.getPrice());
+        }
+
+        public Position withStock(int newStock) {
+            return new Position(storeId, category, active, newStock, price);
+        }
+
+        private void addTo(Map<ProductStatsId, Delta> deltas, int sign) {
+            if (!active) {
+                return;
+            }
+            BigDecimal value = price.multiply(BigDecimal.valueOf(stock));
+            if (storeId != null) {
+                deltas.computeIfAbsent(new ProductStatsId(Dimension.STORE, storeId), id -> new Delta())
+                    .add(sign, stock, value);
+            }
+            if (category != null) {
+                deltas.computeIfAbsent(new ProductStatsId(Dimension.CATEGORY, category), id -> new Delta())
+                    .add(sign, stock, value);
+            }
+        }
+    }
+
+    private static final class Delta {
+
+        private long count;
+        private long stock;
+        private BigDecimal stockValue = BigDecimal.ZERO;
+
+        void add(int sign, int stockDelta, BigDecimal valueDelta) {
+            count += sign;
+            stock += (long) sign * stockDelta;
+            stockValue = sign > 0 ? stockValue.add(valueDelta) : stockValue.subtract(valueDelta);
+        }
+
+        boolean isZero() {
+            return count == 0 && stock == 0 && stockValue.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.cloudfullstack.product.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import com.cloudfullstack.product.config.CacheConfig;
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.exception.ProductNotFoundException;
+import com.cloudfullstack.product.index.ProductTitleIndex;
+import com.cloudfullstack.product.index.ProductUuidFilter;
+import com.cloudfullstack.product.metrics.MeteredCaffeineCache;
+import com.cloudfullstack.product.repository.ReactiveProductRepository;
+import com.cloudfullstack.product.util.ProductUuids;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only counterpart of {@link ProductService} for the reactive API. Shares the
+ * product cache and the title index with the blocking path; only cache misses and
+ * listings reach the database, through {@link ReactiveProductRepository}. The cache
+ * is only read here, never filled.
+ */
+@Service
+public class ReactiveProductService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveProductService.class);
+
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final ProductTitleIndex productTitleIndex;
+    private final ProductUuidFilter productUuidFilter;
+    private final CacheManager cacheManager;
+
+    public ReactiveProductService(ReactiveProductRepository reactiveProductRepository,
+                                  ProductTitleIndex productTitleIndex, ProductUuidFilter productUuidFilter,
+                                  CacheManager cacheManager) {
+        this.reactiveProductRepository = reactiveProductRepository;
+        this.productTitleIndex = productTitleIndex;
+        this.productUuidFilter = productUuidFilter;
+        this.cacheManager = cacheManager;
+    }
+
+    // Get product by UUID, cache first; a miss is loaded without blocking
+    public Mono<ProductResponse> getProductByUuid(String uuid) {
+        return Mono.defer(() -> {
+            logger.info("Fetching product with UUID: {} (reactive)", uuid);
+            if (!ProductUuids.isValid(uuid) || !productUuidFilter.mightExist(uuid)) {
+                return Mono.error(new ProductNotFoundException("Product not found with UUID: " + uuid));
+            }
+
+            // Native lookup: Cache.get(key) on the loading cache would load through JDBC on this thread
+            Cache productCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> cache =
+                productCache instanceof CaffeineCache caffeineCache ? caffeineCache.getNativeCache() : null;
+            Object cached = cache == null ? null : cache.getIfPresent(uuid);
+            if (productCache instanceof MeteredCaffeineCache meteredCache) {
+                meteredCache.record(cached != null ? 1 : 0, cached != null ? 0 : 1);
+            }
+            if (cached instanceof ProductResponse product) {
+                return Mono.just(product);
+            }
+
+            // Not cached: the put could land after a concurrent update's eviction and keep the
+            // old row, as for batch lookups. Only the blocking path fills the cache, through its sync loader.
+            return reactiveProductRepository.findByProductUuid(uuid)
+                .switchIfEmpty(Mono.error(() -> {
+                    productUuidFilter.recordMissing(uuid);
+                    return new ProductNotFoundException("Product not found with UUID: " + uuid);
+                }));
+        });
+    }
+
+    // Get products with offset pagination, same ordering rules as the blocking listing
+    public Flux<ProductResponse> getAllProducts(int page, int size, String sortBy, String sortDirection,
+                                                boolean includeDescription) {
+        logger.info("Fetching products - page: {}, size: {}, sort: {} {} (reactive)", page, size, sortBy, sortDirection);
+        return reactiveProductRepository.findAll((long) page * size, size, sortBy, sortDirection, includeDescription);
+    }
+
+    // Get products by store
+    public Flux<ProductResponse> getProductsByStore(String storeId, boolean includeDescription) {
+        logger.info("Fetching products for store: {} (reactive)", storeId);
+        return reactiveProductRepository.findActiveByStoreId(storeId, includeDescription);
+    }
+
+    // Search products by title, ranked by the in-memory title index once it is built
+    public Flux<ProductResponse> searchProducts(String title, int page, int size) {
+        logger.info("Searching products with title containing: {} - page: {}, size: {} (reactive)", title, page, size);
+
+        if (!productTitleIndex.isReady()) {
+            logger.info("Title index not ready, falling back to database search");
+            return reactiveProductRepository.searchActiveByTitle(title, (long) page * size, size);
+        }
+
+        List<String> uuids = productTitleIndex.search(title, (long) page * size, size);
+        if (uuids.isEmpty()) {
+            return Flux.empty();
+        }
+        return reactiveProductRepository.findActiveByProductUuidIn(uuids)
+            .collectMap(ProductResponse::getProductUuid)
+            .flatMapIterable(found -> inOrder(uuids, found));
+    }
+
+    // Every active product (optionally of one store), emitted on demand
+    public Flux<ProductResponse> streamProducts(String storeId) {
+        logger.info("Streaming products for store: {} (reactive)", storeId == null ? "all" : storeId);
+        return reactiveProductRepository.streamActive(storeId);
+    }
+
+    private static List<ProductResponse> inOrder(List<String> uuids, Map<String, ProductResponse> found) {
+        return uuids.stream()
+            .map(found::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+}
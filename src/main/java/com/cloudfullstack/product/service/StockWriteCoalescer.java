@@ -0,0 +1,263 @@
+package com.cloudfullstack.product.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.cloudfullstack.product.config.CacheConfig;
+import com.cloudfullstack.product.config.StockCoalescingProperties;
+import com.cloudfullstack.product.exception.ProductNotFoundException;
+import com.cloudfullstack.product.util.ProductUuids;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Write coalescing for stock sets: within one window only the last quantity per
+ * product is kept, and the whole buffer is written by {@link ProductService#setStocks}
+ * as one batched transaction.
+ *
+ * A set is written at most one window after the first set of its batch was
+ * buffered, or sooner once max-batch-size products are pending. Flushes run one at
+ * a time, so a later batch never overtakes an earlier one. The buffer is flushed on
+ * shutdown. Coalescing ratio is
+ * product.stock.coalescing.received / product.stock.coalescing.written.
+ *
+ * A failed batch is retried with the next window, minus any product that has a
+ * newer set by then. After max-attempts failures it is split in half and each half
+ * retried the same way, so one bad product cannot hold back the rest; a single
+ * product that still fails is dropped (product.stock.coalescing.dropped).
+ */
+@Component
+public class StockWriteCoalescer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockWriteCoalescer.class);
+
+    private final ProductService productService;
+    private final CacheManager cacheManager;
+    private final StockCoalescingProperties properties;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter received;
+    private final Counter written;
+    private final Counter flushes;
+    private final Counter dropped;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<String, Integer> pending = new LinkedHashMap<>();
+    // Failed batches waiting for the next flush, oldest first
+    private final Deque<Retry> retries = new ArrayDeque<>();
+    private boolean flushScheduled;
+    private boolean closed;
+
+    // Flushes normally run on the scheduler thread, but during shutdown on callers as well
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockWriteCoalescer(ProductService productService, CacheManager cacheManager,
+                               StockCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.productService = productService;
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "stock-write-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // destroy() flushes itself instead of waiting out the window
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.scheduler = executor;
+
+        this.received = Counter.builder("product.stock.coalescing.received")
+            .description("Stock sets accepted for coalescing")
+            .register(meterRegistry);
+        this.written = Counter.builder("product.stock.coalescing.written")
+            .description("Product rows written by coalesced stock flushes")
+            .register(meterRegistry);
+        this.flushes = Counter.builder("product.stock.coalescing.flushes")
+            .description("Coalesced stock flushes")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("product.stock.coalescing.dropped")
+            .description("Stock sets dropped after repeated failed flushes")
+            .register(meterRegistry);
+        Gauge.builder("product.stock.coalescing.pending", this, StockWriteCoalescer::pendingCount)
+            .description("Products with a buffered stock set")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Buffer a stock set; it replaces any set for the same product that has not been written yet
+    public void submit(String uuid, int quantity) {
+        if (!ProductUuids.isValid(uuid)) {
+            throw new ProductNotFoundException("Product not found with UUID: " + uuid);
+        }
+        received.increment();
+
+        boolean flushNow = false;
+        lock.lock();
+        try {
+            pending.put(ProductUuids.canonical(uuid), quantity);
+            if (closed) {
+                flushNow = true;
+            } else if (pending.size() >= properties.getMaxBatchSize()) {
+                scheduler.execute(this::flush);
+            } else {
+                scheduleFlush();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Late writes during shutdown are applied synchronously rather than dropped
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+
+        lock.lock();
+        try {
+            for (Retry retry : retries) {
+                logger.error("Dropping {} coalesced stock sets still failing at shutdown: {}",
+                    retry.sets().size(), retry.sets());
+                dropped.increment(retry.sets().size());
+            }
+            retries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush() {
+        flushLock.lock();
+        try {
+            Map<String, Integer> batch;
+            List<Retry> failed;
+            lock.lock();
+            try {
+                flushScheduled = false;
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                failed = new ArrayList<>(retries);
+                retries.clear();
+            } finally {
+                lock.unlock();
+            }
+
+            // A set buffered later supersedes the same product's set in an older failed batch
+            Set<String> newer = new HashSet<>(batch.keySet());
+            for (int i = failed.size() - 1; i >= 0; i--) {
+                Map<String, Integer> sets = failed.get(i).sets();
+                sets.keySet().removeAll(newer);
+                newer.addAll(sets.keySet());
+            }
+            for (Retry retry : failed) {
+                write(retry.sets(), retry.failures());
+            }
+            write(batch, 0);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(Map<String, Integer> batch, int failures) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<String> updated;
+        try {
+            updated = productService.setStocks(batch);
+        } catch (RuntimeException ex) {
+            retryLater(batch, failures + 1, ex);
+            return;
+        }
+
+        flushes.increment();
+        written.increment(updated.size());
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            updated.forEach(cache::evict);
+        }
+        logger.debug("Flushed {} coalesced stock sets", batch.size());
+    }
+
+    private void retryLater(Map<String, Integer> batch, int failures, RuntimeException ex) {
+        List<Retry> next = new ArrayList<>(2);
+        if (failures < properties.getMaxAttempts()) {
+            logger.warn("Coalesced stock flush of {} products failed (attempt {}), retrying next window",
+                batch.size(), failures, ex);
+            next.add(new Retry(batch, failures));
+        } else if (batch.size() > 1) {
+            logger.warn("Coalesced stock flush of {} products failed {} times, retrying in halves",
+                batch.size(), failures, ex);
+            Map<String, Integer> first = new LinkedHashMap<>();
+            Map<String, Integer> second = new LinkedHashMap<>();
+            batch.forEach((uuid, quantity) -> (first.size() < batch.size() / 2 ? first : second).put(uuid, quantity));
+            next.add(new Retry(first, 0));
+            next.add(new Retry(second, 0));
+        } else {
+            logger.error("Dropping coalesced stock set {} after {} failed attempts", batch, failures, ex);
+            dropped.increment();
+            return;
+        }
+
+        lock.lock();
+        try {
+            retries.addAll(next);
+            scheduleFlush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Call with the lock held
+    private void scheduleFlush() {
+        if (!closed && !flushScheduled) {
+            flushScheduled = true;
+            scheduler.schedule(this::flush, properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size() + retries.stream().mapToInt(retry -> retry.sets().size()).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Retry(Map<String, Integer> sets, int failures) {
+    }
+}
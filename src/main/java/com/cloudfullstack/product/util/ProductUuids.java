@@ -0,0 +1,73 @@
+package com.cloudfullstack.product.util;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Product identifiers: time-ordered UUIDv7 values exposed as their canonical
+ * 36-character string and stored as 16 big-endian bytes, so new rows land at the
+ * right-hand edge of the product_uuid index instead of at random positions.
+ */
+public final class ProductUuids {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (unix millis << 12) | sequence of the last generated UUID, keeps output monotonic
+    private static final AtomicLong LAST_TIMESTAMP = new AtomicLong();
+
+    private ProductUuids() {
+    }
+
+    public static String newUuid() {
+        return newUuidV7().toString();
+    }
+
+    // 48-bit unix millis, version 7, 12-bit sequence within the millisecond, variant, 62 random bits
+    public static UUID newUuidV7() {
+        long now = System.currentTimeMillis() << 12;
+        long timestamp = LAST_TIMESTAMP.updateAndGet(last -> now > last ? now : last + 1);
+
+        long mostSigBits = ((timestamp >>> 12) << 16) | 0x7000L | (timestamp & 0xFFFL);
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static boolean isValid(String uuid) {
+        if (uuid == null || uuid.length() != 36) {
+            return false;
+        }
+        try {
+            UUID.fromString(uuid);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    // Canonical lower-case form of a valid UUID, the only form used as a cache, buffer or
+    // filter key; the BINARY(16) column matches any case, those keys do not. Anything
+    // else is returned unchanged for the caller to reject.
+    public static String canonical(String uuid) {
+        return isValid(uuid) ? UUID.fromString(uuid).toString() : uuid;
+    }
+
+    // Unix millis a UUIDv7 was minted at, or -1 for other versions
+    public static long timestampMillis(UUID uuid) {
+        return uuid.version() == 7 ? uuid.getMostSignificantBits() >>> 16 : -1;
+    }
+
+    public static byte[] toBytes(String uuid) {
+        UUID value = UUID.fromString(uuid);
+        return ByteBuffer.allocate(16)
+            .putLong(value.getMostSignificantBits())
+            .putLong(value.getLeastSignificantBits())
+            .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
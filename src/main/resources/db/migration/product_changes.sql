@@ -0,0 +1,27 @@
+-- Creates product_changes, the transactional outbox behind the change feed and the
+-- cross-instance cache invalidation, and product_change_id_seq for its record ids.
+--
+-- Run once before deploying a build that maps ProductChange
+-- (spring.jpa.hibernate.ddl-auto=validate in prod). The table starts empty: the
+-- feed begins with the first change made after the deploy. seq (the feed cursor)
+-- stays NULL until ProductChangeSequencer numbers the committed record; origin is
+-- the product.cluster-cache.instance-id of the instance that made the change.
+-- Written for H2; on MySQL (no sequences) map the id with GenerationType.IDENTITY
+-- and declare id as BIGINT AUTO_INCREMENT instead.
+
+CREATE SEQUENCE product_change_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE product_changes (
+    id BIGINT NOT NULL,
+    seq BIGINT,
+    product_uuid BINARY(16) NOT NULL,
+    change_type ENUM('CREATED', 'DELETED', 'STOCK_CHANGED', 'UPDATED') NOT NULL,
+    stock INTEGER,
+    changed_at TIMESTAMP(6) NOT NULL,
+    origin VARCHAR(64),
+    version INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT idx_product_change_seq UNIQUE (seq)
+);
+
+CREATE INDEX idx_product_change_product ON product_changes (product_uuid, seq);
@@ -0,0 +1,16 @@
+-- Moves products.id from an IDENTITY column to the pooled product_seq sequence.
+--
+-- Hibernate now takes ids from product_seq in blocks of 50 (allocationSize), so
+-- inserts can be sent as JDBC batches. Existing ids are kept; the sequence starts
+-- one block above the highest id, so new ids never collide with old ones.
+--
+-- Run once, with the application stopped, before deploying a build that maps the
+-- id with @SequenceGenerator(name = "product_seq") (spring.jpa.hibernate.ddl-auto=validate
+-- in prod). Written for H2; on MySQL (no sequences) keep IDENTITY and map the id with
+-- GenerationType.IDENTITY instead.
+
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE product_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE product_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM products);
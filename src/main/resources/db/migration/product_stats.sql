@@ -0,0 +1,16 @@
+-- Creates product_stats, the per-store and per-category counters (active products,
+-- total stock, stock value) that ProductStatsService keeps in step with products.
+--
+-- Run once before deploying a build that maps ProductStats
+-- (spring.jpa.hibernate.ddl-auto=validate in prod). The table can start empty: the
+-- recount at startup fills it from the products table.
+-- Written for H2; MySQL accepts the same statement.
+
+CREATE TABLE product_stats (
+    dimension ENUM('CATEGORY', 'STORE') NOT NULL,
+    stats_key VARCHAR(255) NOT NULL,
+    active_count BIGINT NOT NULL,
+    total_stock BIGINT NOT NULL,
+    stock_value NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (stats_key, dimension)
+);
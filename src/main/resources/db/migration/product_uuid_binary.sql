@@ -0,0 +1,22 @@
+-- Migrates products.product_uuid from VARCHAR(255) (random v4 strings) to BINARY(16).
+--
+-- Existing v4 values keep their identity: the same 128 bits are stored, and the
+-- string form returned by the API is unchanged. New products get time-ordered
+-- UUIDv7 values from ProductUuids, so inserts append to the end of the index.
+--
+-- Run once, with the application stopped, before deploying a build that maps
+-- product_uuid as BINARY(16) (spring.jpa.hibernate.ddl-auto=validate in prod).
+-- Written for H2; for MySQL replace the UPDATE expression with
+-- UNHEX(REPLACE(product_uuid, '-', '')).
+
+ALTER TABLE products ADD COLUMN product_uuid_bin BINARY(16);
+
+UPDATE products SET product_uuid_bin = CAST(CAST(product_uuid AS UUID) AS BINARY(16));
+
+ALTER TABLE products ALTER COLUMN product_uuid_bin SET NOT NULL;
+
+ALTER TABLE products DROP COLUMN product_uuid;
+
+ALTER TABLE products ALTER COLUMN product_uuid_bin RENAME TO product_uuid;
+
+ALTER TABLE products ADD CONSTRAINT uk_products_product_uuid UNIQUE (product_uuid);
@@ -0,0 +1,13 @@
+-- Creates replication_heartbeat, the one-row table the primary bumps on every replica
+-- health check when product.datasource.max-lag is set. A replica's lag is how far its
+-- replicated copy of the row trails the primary's.
+--
+-- Run once on the primary before deploying a build that maps ReplicationHeartbeat
+-- (spring.jpa.hibernate.ddl-auto=validate in prod); replicas receive it through
+-- replication. Written for H2; MySQL accepts the same statement.
+
+CREATE TABLE replication_heartbeat (
+    id INTEGER NOT NULL,
+    beat_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,52 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.config.LowStockProperties;
+import com.cloudfullstack.product.dto.LowStockAlert;
+import com.cloudfullstack.product.event.ProductStockChangedEvent;
+import com.cloudfullstack.product.index.LowStockWatch;
+import com.cloudfullstack.product.repository.ProductRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LowStockWatchTest {
+
+    private static final String TEST_UUID = "01890a5d-ac96-774b-bcce-b302099a8057";
+
+    private ApplicationEventPublisher eventPublisher;
+    private LowStockWatch watch;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        watch = new LowStockWatch(mock(ProductRepository.class), eventPublisher, new LowStockProperties());
+    }
+
+    @Test
+    void onStockChanged_WhenOlderEventArrivesLast_ShouldKeepTheNewerStock() {
+        ProductStockChangedEvent older = ProductStockChangedEvent.of(TEST_UUID, 3);
+        ProductStockChangedEvent newer = ProductStockChangedEvent.of(TEST_UUID, 50);
+
+        watch.onStockChanged(newer);
+        watch.onStockChanged(older);
+
+        assertEquals(List.of(), watch.findBelow(10));
+        verify(eventPublisher, never()).publishEvent(any(LowStockAlert.class));
+    }
+
+    @Test
+    void onStockChanged_InOrder_ShouldTrackEveryChange() {
+        watch.onStockChanged(ProductStockChangedEvent.of(TEST_UUID, 50));
+        watch.onStockChanged(ProductStockChangedEvent.of(TEST_UUID, 3));
+
+        assertEquals(List.of(TEST_UUID), watch.findBelow(5));
+        verify(eventPublisher).publishEvent(any(LowStockAlert.class));
+    }
+}
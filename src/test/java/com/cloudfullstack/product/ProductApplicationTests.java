@@ -1,36 +1,99 @@
 package com.cloudfullstack.product;
 
 import org.junit.jupiter.api.Test;
+import com.cloudfullstack.product.config.ProductBrowseProperties;
 import com.cloudfullstack.product.dto.CreateProductRequest;
+import com.cloudfullstack.product.dto.ProductBrowsePage;
+import com.cloudfullstack.product.dto.ProductCursorPage;
 import com.cloudfullstack.product.dto.ProductResponse;
 import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.exception.InsufficientStockException;
+import com.cloudfullstack.product.exception.InvalidProductDataException;
 import com.cloudfullstack.product.exception.ProductNotFoundException;
+import com.cloudfullstack.product.event.ProductStockChangedEvent;
+import com.cloudfullstack.product.index.LowStockWatch;
+import com.cloudfullstack.product.index.ProductFacetCollector;
+import com.cloudfullstack.product.index.ProductPriceIndex;
+import com.cloudfullstack.product.index.ProductTitleIndex;
+import com.cloudfullstack.product.index.ProductUuidFilter;
 import com.cloudfullstack.product.mapper.ProductMapper;
 import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.service.ProductBatchLoader;
 import com.cloudfullstack.product.service.ProductService;
+import com.cloudfullstack.product.service.ProductStatsService;
+import com.cloudfullstack.product.service.ProductStatsService.Position;
+import com.cloudfullstack.product.repository.ProductStockView;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceTest {
+
+    private static final String TEST_UUID = "01890a5d-ac96-774b-bcce-b302099a8057";
+    private static final String OTHER_UUID = "01890a5d-ac97-7c4e-8a1f-6f4a3c2b1d0e";
+    private static final String MISSING_UUID = "550e8400-e29b-41d4-a716-446655440000";
     
     @Mock
     private ProductRepository productRepository;
     
     @Mock
     private ProductMapper productMapper;
+
+    @Mock
+    private ProductTitleIndex productTitleIndex;
+
+    @Mock
+    private ProductPriceIndex productPriceIndex;
+
+    @Mock
+    private LowStockWatch lowStockWatch;
+
+    @Mock
+    private ProductStatsService productStatsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductBatchLoader productBatchLoader;
+
+    @Mock
+    private ProductUuidFilter productUuidFilter;
+
+    @Spy
+    private ProductBrowseProperties browseProperties = new ProductBrowseProperties();
+
+    @Mock
+    private CacheManager cacheManager;
     
     @InjectMocks
     private ProductService productService;
@@ -43,7 +106,7 @@ class ProductServiceTest {
     void setUp() {
         testProduct = new Product();
         testProduct.setId(1L);
-        testProduct.setProductUuid("test-uuid");
+        testProduct.setProductUuid(TEST_UUID);
         testProduct.setTitle("Test Product");
         testProduct.setPrice(BigDecimal.valueOf(99.99));
         testProduct.setStock(100);
@@ -54,16 +117,18 @@ class ProductServiceTest {
         createRequest.setStock(100);
         
         productResponse = new ProductResponse();
-        productResponse.setProductUuid("test-uuid");
+        productResponse.setProductUuid(TEST_UUID);
         productResponse.setTitle("Test Product");
         productResponse.setPrice(BigDecimal.valueOf(99.99));
         productResponse.setStock(100);
+
+        lenient().when(productUuidFilter.mightExist(anyString())).thenReturn(true);
     }
     
     @Test
     void createProduct_ShouldReturnProductResponse() {
         when(productMapper.toEntity(any(CreateProductRequest.class))).thenReturn(testProduct);
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(testProduct);
         when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
 
         ProductResponse result = productService.createProduct(createRequest);
@@ -72,9 +137,10 @@ class ProductServiceTest {
         assertEquals("Test Product", result.getTitle());
         assertEquals(BigDecimal.valueOf(99.99), result.getPrice());
         
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).saveAndFlush(any(Product.class));
         verify(productMapper).toEntity(any(CreateProductRequest.class));
         verify(productMapper).toResponse(any(Product.class));
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
     }
     
     @Test
@@ -82,12 +148,12 @@ class ProductServiceTest {
         when(productRepository.findByProductUuid(anyString())).thenReturn(Optional.of(testProduct));
         when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
 
-        ProductResponse result = productService.getProductByUuid("test-uuid");
+        ProductResponse result = productService.getProductByUuid(TEST_UUID);
 
         assertNotNull(result);
-        assertEquals("test-uuid", result.getProductUuid());
+        assertEquals(TEST_UUID, result.getProductUuid());
         
-        verify(productRepository).findByProductUuid("test-uuid");
+        verify(productRepository).findByProductUuid(TEST_UUID);
         verify(productMapper).toResponse(testProduct);
     }
     
@@ -96,10 +162,322 @@ class ProductServiceTest {
         when(productRepository.findByProductUuid(anyString())).thenReturn(Optional.empty());
 
         assertThrows(ProductNotFoundException.class, () -> {
-            productService.getProductByUuid("non-existent-uuid");
+            productService.getProductByUuid(MISSING_UUID);
         });
         
-        verify(productRepository).findByProductUuid("non-existent-uuid");
+        verify(productRepository).findByProductUuid(MISSING_UUID);
+        verify(productMapper, never()).toResponse(any(Product.class));
+        verify(productUuidFilter).recordMissing(MISSING_UUID);
+    }
+
+    @Test
+    void getProductByUuid_WhenFilterRejects_ShouldThrowWithoutQuery() {
+        when(productUuidFilter.mightExist(MISSING_UUID)).thenReturn(false);
+
+        assertThrows(ProductNotFoundException.class, () -> {
+            productService.getProductByUuid(MISSING_UUID);
+        });
+
+        verify(productRepository, never()).findByProductUuid(anyString());
+    }
+
+    @Test
+    void reduceStock_WhenStockAvailable_ShouldDecrementWithoutLoading() {
+        ProductStockView remaining = stockView(95);
+        when(productRepository.decrementStock(TEST_UUID, 5)).thenReturn(Optional.of(remaining));
+
+        productService.reduceStock(TEST_UUID, 5);
+
+        verify(productRepository).decrementStock(TEST_UUID, 5);
+        verify(productRepository, never()).findByProductUuid(anyString());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void reduceStock_WhenStockInsufficient_ShouldThrowException() {
+        when(productRepository.decrementStock(TEST_UUID, 500)).thenReturn(Optional.empty());
+        when(productRepository.existsByProductUuidAndActiveTrue(TEST_UUID)).thenReturn(true);
+
+        assertThrows(InsufficientStockException.class, () -> {
+            productService.reduceStock(TEST_UUID, 500);
+        });
+    }
+
+    @Test
+    void reduceStock_WhenProductNotExists_ShouldThrowException() {
+        when(productRepository.decrementStock(MISSING_UUID, 1)).thenReturn(Optional.empty());
+        when(productRepository.existsByProductUuidAndActiveTrue(MISSING_UUID)).thenReturn(false);
+
+        assertThrows(ProductNotFoundException.class, () -> {
+            productService.reduceStock(MISSING_UUID, 1);
+        });
+    }
+
+    @Test
+    void getProductsAfter_ShouldSeekPastLastProductOfPreviousPage() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        testProduct.setCreatedAt(createdAt);
+        when(productRepository.findAllByOrderByCreatedAtDescIdDesc(any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(testProduct), PageRequest.of(0, 1), true));
+        when(productMapper.toResponseList(anyList())).thenReturn(List.of(productResponse));
+
+        ProductCursorPage first = productService.getProductsAfter(null, 1);
+
+        assertTrue(first.isHasNext());
+        assertNotNull(first.getNextCursor());
+
+        when(productRepository.findPageAfter(eq(createdAt), eq(1L), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+        when(productMapper.toResponseList(anyList())).thenReturn(List.of());
+
+        ProductCursorPage second = productService.getProductsAfter(first.getNextCursor(), 1);
+
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+        verify(productRepository).findPageAfter(eq(createdAt), eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void getProductsAfter_WithMalformedCursor_ShouldThrowException() {
+        assertThrows(InvalidProductDataException.class, () -> {
+            productService.getProductsAfter("not-a-cursor", 10);
+        });
+    }
+
+    @Test
+    void searchProducts_WhenIndexReady_ShouldKeepIndexRanking() {
+        ProductResponse secondResponse = new ProductResponse();
+        secondResponse.setProductUuid(OTHER_UUID);
+
+        when(productTitleIndex.isReady()).thenReturn(true);
+        when(productTitleIndex.search("test", 0, 10)).thenReturn(List.of(OTHER_UUID, TEST_UUID));
+        when(productRepository.findResponsesByProductUuidIn(List.of(OTHER_UUID, TEST_UUID)))
+            .thenReturn(List.of(productResponse, secondResponse));
+
+        List<ProductResponse> result = productService.searchProducts("test", 0, 10);
+
+        assertEquals(List.of(OTHER_UUID, TEST_UUID), result.stream().map(ProductResponse::getProductUuid).toList());
+        verify(productRepository, never()).searchResponsesByTitle(anyString(), any(Pageable.class));
         verify(productMapper, never()).toResponse(any(Product.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchProducts_WhenIndexNotReady_ShouldFallBackToDatabase() {
+        when(productTitleIndex.isReady()).thenReturn(false);
+        when(productRepository.searchResponsesByTitle(eq("test"), any(Pageable.class)))
+            .thenReturn(List.of(productResponse));
+
+        List<ProductResponse> result = productService.searchProducts("test", 0, 10);
+
+        assertEquals(1, result.size());
+        verify(productTitleIndex, never()).search(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getProductsByStore_WithoutDescription_ShouldUseSummaryProjection() {
+        when(productRepository.findSummariesByStoreId("STORE-001")).thenReturn(List.of(productResponse));
+
+        List<ProductResponse> result = productService.getProductsByStore("STORE-001", false);
+
+        assertEquals(1, result.size());
+        verify(productRepository, never()).findResponsesByStoreId(anyString());
+        verify(productRepository, never()).findByStoreIdAndActiveTrue(anyString());
+    }
+
+    @Test
+    void getProductByUuid_WhenUuidMalformed_ShouldThrowWithoutQuery() {
+        assertThrows(ProductNotFoundException.class, () -> {
+            productService.getProductByUuid("not-a-uuid");
+        });
+
+        verify(productRepository, never()).findByProductUuid(anyString());
+    }
+
+    @Test
+    void getProductByUuid_WhenBatchLoaderEnabled_ShouldLoadThroughBatch() {
+        when(productBatchLoader.isEnabled()).thenReturn(true);
+        when(productBatchLoader.load(TEST_UUID)).thenReturn(Optional.of(productResponse));
+
+        ProductResponse result = productService.getProductByUuid(TEST_UUID);
+
+        assertEquals(TEST_UUID, result.getProductUuid());
+        verify(productRepository, never()).findByProductUuid(anyString());
+    }
+
+    @Test
+    void getProductsByUuids_ShouldServeHitsFromCacheAndLoadMissesInOneQuery() {
+        CaffeineCache cache = new CaffeineCache("products",
+            com.github.benmanes.caffeine.cache.Caffeine.newBuilder().build());
+        cache.put(TEST_UUID, productResponse);
+        when(cacheManager.getCache("products")).thenReturn(cache);
+
+        ProductResponse other = new ProductResponse();
+        other.setProductUuid(OTHER_UUID);
+        when(productRepository.findResponsesByUuids(List.of(OTHER_UUID, MISSING_UUID))).thenReturn(List.of(other));
+
+        List<ProductResponse> result = productService.getProductsByUuids(
+            List.of(OTHER_UUID.toUpperCase(), "not-a-uuid", TEST_UUID.toUpperCase(), MISSING_UUID, OTHER_UUID));
+
+        assertEquals(List.of(OTHER_UUID, TEST_UUID), result.stream().map(ProductResponse::getProductUuid).toList());
+        assertNull(cache.get(OTHER_UUID));
+        verify(productRepository).findResponsesByUuids(anyList());
+        verify(productUuidFilter).recordMissing(MISSING_UUID);
+    }
+
+    @Test
+    void browseProducts_ShouldCountEachFacetWithoutItsOwnFilter() {
+        when(productPriceIndex.isReady()).thenReturn(true);
+        doAnswer(invocation -> {
+            ProductFacetCollector collector = invocation.getArgument(0);
+            collector.accept(OTHER_UUID, 500, "STORE-1", "Books");
+            collector.accept(TEST_UUID, 2_000, "STORE-1", "Electronics");
+            collector.accept(MISSING_UUID, 3_000, "STORE-2", "Electronics");
+            collector.accept("01890a5d-ac98-7000-8000-000000000000", 90_000, "STORE-1", "Electronics");
+            return null;
+        }).when(productPriceIndex).browse(any(ProductFacetCollector.class));
+        when(productRepository.findResponsesByProductUuidIn(List.of(TEST_UUID))).thenReturn(List.of(productResponse));
+
+        ProductBrowsePage result = productService.browseProducts("Electronics", "STORE-1",
+            BigDecimal.ZERO, BigDecimal.valueOf(100), 0, 20);
+
+        assertEquals(List.of(productResponse), result.getContent());
+        assertEquals(1, result.getTotalElements());
+        assertEquals(Map.of("Electronics", 1L, "Books", 1L), result.getFacets().getCategories());
+        assertEquals(Map.of("STORE-1", 1L, "STORE-2", 1L), result.getFacets().getStores());
+        assertEquals(List.of(0L, 1L, 0L, 0L, 0L, 0L, 1L),
+            result.getFacets().getPrices().stream().map(ProductBrowsePage.PriceBucket::getCount).toList());
+    }
+
+    @Test
+    void browseProductsByPrice_WhenIndexReady_ShouldKeepPriceOrder() {
+        ProductResponse cheaper = new ProductResponse();
+        cheaper.setProductUuid(OTHER_UUID);
+        when(productPriceIndex.isReady()).thenReturn(true);
+        when(productPriceIndex.search(BigDecimal.ONE, BigDecimal.TEN, "Electronics", null, 0, 20))
+            .thenReturn(List.of(OTHER_UUID, TEST_UUID));
+        when(productRepository.findResponsesByProductUuidIn(List.of(OTHER_UUID, TEST_UUID)))
+            .thenReturn(List.of(productResponse, cheaper));
+
+        List<ProductResponse> result =
+            productService.browseProductsByPrice(BigDecimal.ONE, BigDecimal.TEN, "Electronics", null, 0, 20);
+
+        assertEquals(List.of(OTHER_UUID, TEST_UUID), result.stream().map(ProductResponse::getProductUuid).toList());
+        verify(productRepository, never()).findResponsesByPriceRange(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void browseProductsByPrice_WhenRangeInverted_ShouldThrowException() {
+        assertThrows(InvalidProductDataException.class,
+            () -> productService.browseProductsByPrice(BigDecimal.TEN, BigDecimal.ONE, null, null, 0, 20));
+
+        verifyNoInteractions(productPriceIndex, productRepository);
+    }
+
+    @Test
+    void reduceStock_ShouldPublishRemainingStockAndUpdateCountersWithoutReadingBack() {
+        ProductStockView remaining = stockView(3);
+        when(productRepository.decrementStock(TEST_UUID, 5)).thenReturn(Optional.of(remaining));
+
+        productService.reduceStock(TEST_UUID, 5);
+
+        Position before = new Position("STORE-001", "Electronics", true, 8, BigDecimal.TEN);
+        verify(productStatsService).recordStockChange(before, 3);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ProductStockChangedEvent stock
+            && stock.productUuid().equals(TEST_UUID) && stock.stock() == 3));
+        verify(productRepository, never()).existsByProductUuidAndActiveTrue(anyString());
+    }
+
+    @Test
+    void updateStock_ShouldSetStockOnTheLockedEntity() {
+        when(productRepository.findForUpdateByProductUuid(TEST_UUID)).thenReturn(Optional.of(testProduct));
+        Position before = Position.of(testProduct);
+
+        productService.updateStock(TEST_UUID, 42);
+
+        assertEquals(42, testProduct.getStock());
+        verify(productStatsService).recordStockChange(before, 42);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ProductStockChangedEvent stock
+            && stock.productUuid().equals(TEST_UUID) && stock.stock() == 42));
+    }
+
+    @Test
+    void deleteProduct_ShouldRemoveActiveProductFromCounters() {
+        testProduct.setStoreId("STORE-001");
+        when(productRepository.findForUpdateByProductUuid(TEST_UUID)).thenReturn(Optional.of(testProduct));
+        Position before = Position.of(testProduct);
+
+        productService.deleteProduct(TEST_UUID);
+
+        assertFalse(testProduct.getActive());
+        verify(productStatsService).recordChange(before, null);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ProductChangedEvent changed
+            && changed.type() == ProductChangedEvent.ChangeType.DELETED && changed.productUuid().equals(TEST_UUID)));
+    }
+
+    @Test
+    void setStocks_ShouldUpdateActiveProductsInOneTransactionAndSkipOthers() {
+        Product inactive = new Product();
+        inactive.setProductUuid(OTHER_UUID);
+        inactive.setStock(7);
+        inactive.setActive(false);
+        Map<String, Integer> stocks = Map.of(TEST_UUID, 40, OTHER_UUID, 1, MISSING_UUID, 5);
+        when(productRepository.findForUpdateByProductUuidIn(stocks.keySet()))
+            .thenReturn(List.of(testProduct, inactive));
+        Position before = Position.of(testProduct);
+
+        List<String> updated = productService.setStocks(stocks);
+
+        assertEquals(List.of(TEST_UUID), updated);
+        assertEquals(40, testProduct.getStock());
+        assertEquals(7, inactive.getStock());
+        verify(productStatsService).recordChanges(List.of(before), List.of(before.withStock(40)));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ProductStockChangedEvent stock
+            && stock.productUuid().equals(TEST_UUID) && stock.stock() == 40));
+        verify(productRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void setStocks_WithUppercaseUuid_ShouldMatchTheLoadedProduct() {
+        when(productRepository.findForUpdateByProductUuidIn(Set.of(TEST_UUID))).thenReturn(List.of(testProduct));
+
+        List<String> updated = productService.setStocks(Map.of(TEST_UUID.toUpperCase(), 40));
+
+        assertEquals(List.of(TEST_UUID), updated);
+        assertEquals(40, testProduct.getStock());
+    }
+
+    @Test
+    void getLowStockProducts_WhenWatchCoversThreshold_ShouldNotScan() {
+        when(lowStockWatch.covers(10)).thenReturn(true);
+        when(lowStockWatch.findBelow(10)).thenReturn(List.of(TEST_UUID));
+        when(productRepository.findResponsesByProductUuidIn(List.of(TEST_UUID))).thenReturn(List.of(productResponse));
+
+        List<ProductResponse> result = productService.getLowStockProducts(10);
+
+        assertEquals(1, result.size());
+        verify(productRepository, never()).findLowStockResponses(anyInt());
+    }
+
+    @Test
+    void getLowStockProducts_WithManyLowStockProducts_ShouldChunkTheInQuery() {
+        List<String> uuids = java.util.stream.IntStream.range(0, 1_200)
+            .mapToObj(i -> String.format("01890a5d-ac96-774b-bcce-%012d", i))
+            .toList();
+        when(lowStockWatch.covers(10)).thenReturn(true);
+        when(lowStockWatch.findBelow(10)).thenReturn(uuids);
+
+        productService.getLowStockProducts(10);
+
+        verify(productRepository, times(3)).findResponsesByProductUuidIn(argThat(chunk -> chunk.size() <= 500));
+    }
+
+    private static ProductStockView stockView(int stock) {
+        ProductStockView view = mock(ProductStockView.class);
+        lenient().when(view.getStock()).thenReturn(stock);
+        lenient().when(view.getPrice()).thenReturn(BigDecimal.TEN);
+        lenient().when(view.getStoreId()).thenReturn("STORE-001");
+        lenient().when(view.getCategory()).thenReturn("Electronics");
+        lenient().when(view.getActive()).thenReturn(true);
+        return view;
+    }
+}
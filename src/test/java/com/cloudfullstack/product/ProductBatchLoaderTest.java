@@ -0,0 +1,72 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.config.ProductBatchLoaderProperties;
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.service.ProductBatchLoader;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ProductBatchLoaderTest {
+
+    private static final String TEST_UUID = "01890a5d-ac96-774b-bcce-b302099a8057";
+
+    private ProductRepository productRepository;
+    private ProductBatchLoaderProperties properties;
+    private ProductResponse product;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        properties = new ProductBatchLoaderProperties();
+        properties.setEnabled(true);
+
+        product = new ProductResponse();
+        product.setProductUuid(TEST_UUID);
+        when(productRepository.findResponsesByUuids(anyCollection())).thenReturn(List.of(product));
+    }
+
+    @Test
+    void load_WithUppercaseUuid_ShouldMatchTheCanonicalResult() {
+        ProductBatchLoader loader = new ProductBatchLoader(productRepository, properties, Runnable::run);
+
+        assertEquals(Optional.of(product), loader.load(TEST_UUID.toUpperCase()));
+        verify(productRepository).findResponsesByUuids(argThat(uuids -> uuids.contains(TEST_UUID)));
+    }
+
+    @Test
+    void load_AfterDestroy_ShouldResolveOnTheCallingThread() {
+        Executor shutDown = task -> {
+            throw new RejectedExecutionException("shut down");
+        };
+        ProductBatchLoader loader = new ProductBatchLoader(productRepository, properties, shutDown);
+        loader.destroy();
+
+        Optional<ProductResponse> result = assertTimeoutPreemptively(Duration.ofSeconds(5),
+            () -> loader.load(TEST_UUID));
+
+        assertEquals(Optional.of(product), result);
+    }
+
+    @Test
+    void destroy_ShouldResolvePendingLookups() {
+        properties.setWindow(Duration.ofHours(1));
+        ProductBatchLoader loader = new ProductBatchLoader(productRepository, properties, Runnable::run);
+        var pending = loader.loadAsync(TEST_UUID);
+
+        loader.destroy();
+
+        assertEquals(Optional.of(product), pending.join());
+    }
+}
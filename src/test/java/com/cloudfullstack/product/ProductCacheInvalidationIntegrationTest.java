@@ -0,0 +1,164 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.cluster.ProductCacheInvalidator;
+import com.cloudfullstack.product.cluster.ProductInvalidation;
+import com.cloudfullstack.product.config.CacheConfig;
+import com.cloudfullstack.product.config.ClusterCacheProperties;
+import com.cloudfullstack.product.dto.CreateProductRequest;
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.repository.ProductChangeRepository;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.service.ProductService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+// The application context is instance A; instance B is a second invalidator with its own
+// near cache, reading the same outbox in the same database
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:product-cluster",
+    "spring.r2dbc.url=r2dbc:h2:mem:///product-cluster",
+    "product.outbox.sequence-interval=50ms",
+    "product.cluster-cache.enabled=true",
+    "product.cluster-cache.instance-id=instance-a",
+    "product.cluster-cache.poll-interval=50ms"
+})
+class ProductCacheInvalidationIntegrationTest {
+
+    private static final Duration REEVICT_DELAY = Duration.ofMillis(200);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductChangeRepository productChangeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CacheManager cacheB;
+    private ProductCacheInvalidator instanceB;
+
+    @BeforeEach
+    void setUp() {
+        ClusterCacheProperties properties = new ClusterCacheProperties();
+        properties.setEnabled(true);
+        properties.setInstanceId("instance-b");
+        properties.setPollInterval(Duration.ofMillis(50));
+        properties.setReevictDelay(REEVICT_DELAY);
+        cacheB = new CaffeineCacheManager(CacheConfig.PRODUCTS_CACHE);
+        instanceB = new ProductCacheInvalidator(productChangeRepository, cacheB, entityManagerFactory, properties,
+            new SimpleMeterRegistry());
+        instanceB.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        instanceB.stop();
+    }
+
+    @Test
+    void changeOnInstanceA_ShouldEvictOnlyThatProductOnInstanceB() {
+        String changed = create("Cluster Lamp", "STORE-CLUSTER-1");
+        String unchanged = create("Cluster Rug", "STORE-CLUSTER-2");
+        long changedId = productRepository.findByProductUuid(changed).orElseThrow().getId();
+        long unchangedId = productRepository.findByProductUuid(unchanged).orElseThrow().getId();
+        awaitSettled(changed, unchanged);
+        double ownBefore = meterRegistry.counter("product.cache.invalidations", "outcome", "own").count();
+
+        Cache productsB = cacheB.getCache(CacheConfig.PRODUCTS_CACHE);
+        productsB.put(changed, "stale on b");
+        productsB.put(unchanged, "still valid on b");
+        loadIntoSecondLevelCache(changedId, unchangedId);
+
+        productService.updateStock(changed, 99);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> productsB.get(changed) == null);
+        assertNotNull(productsB.get(unchanged));
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertFalse(secondLevelCache.containsEntity(Product.class, changedId));
+        assertTrue(secondLevelCache.containsEntity(Product.class, unchangedId));
+
+        // The outbox carried the origin, so instance A skipped its own change
+        assertTrue(productChangeRepository.findInvalidationsAfter(0, PageRequest.of(0, 1_000)).stream()
+            .filter(invalidation -> invalidation.productUuid().equals(changed))
+            .map(ProductInvalidation::origin)
+            .allMatch("instance-a"::equals));
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+            meterRegistry.counter("product.cache.invalidations", "outcome", "own").count() > ownBefore);
+    }
+
+    @Test
+    void loadFinishingAfterTheEviction_ShouldBeEvictedAgain() {
+        String uuid = create("Cluster Chair", "STORE-CLUSTER-3");
+        awaitSettled(uuid);
+        Cache productsB = cacheB.getCache(CacheConfig.PRODUCTS_CACHE);
+        productsB.put(uuid, "stale on b");
+
+        productService.updateStock(uuid, 1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> productsB.get(uuid) == null);
+        // A read that started before the change committed caches the old row late
+        productsB.put(uuid, "loaded before the change");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> productsB.get(uuid) == null);
+    }
+
+    private String create(String title, String storeId) {
+        return productService.createProduct(
+            new CreateProductRequest(title, "Cluster", new BigDecimal("15.00"), storeId, storeId, 10))
+            .getProductUuid();
+    }
+
+    private void loadIntoSecondLevelCache(Long... ids) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (Long id : ids) {
+            transaction.executeWithoutResult(status -> productRepository.findById(id));
+        }
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long id : ids) {
+            assertTrue(secondLevelCache.containsEntity(Product.class, id));
+        }
+    }
+
+    // Instance B has applied the creation of these products, including the repeated eviction
+    private void awaitSettled(String... uuids) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            List<ProductInvalidation> sequenced =
+                productChangeRepository.findInvalidationsAfter(0, PageRequest.of(0, 10_000));
+            return List.of(uuids).stream().allMatch(uuid -> sequenced.stream()
+                    .anyMatch(invalidation -> invalidation.productUuid().equals(uuid)))
+                && instanceB.getCursor() >= sequenced.get(sequenced.size() - 1).version();
+        });
+        await().pollDelay(REEVICT_DELAY.multipliedBy(2)).until(() -> true);
+    }
+}
@@ -0,0 +1,92 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.cluster.ProductCacheInvalidator;
+import com.cloudfullstack.product.cluster.ProductInvalidation;
+import com.cloudfullstack.product.config.CacheConfig;
+import com.cloudfullstack.product.config.ClusterCacheProperties;
+import com.cloudfullstack.product.repository.ProductChangeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+// Two instances sharing one outbox, each with its own near cache
+class ProductCacheInvalidationTest {
+
+    private static final String PRODUCT = "01890a5d-ac96-774b-bcce-b302099a8057";
+    private static final String OTHER_PRODUCT = "01890a5d-ac97-7c4e-8a1f-6f4a3c2b1d0e";
+
+    private final List<ProductInvalidation> outbox = new ArrayList<>();
+
+    private CacheManager cacheA;
+    private CacheManager cacheB;
+    private ProductCacheInvalidator instanceA;
+    private ProductCacheInvalidator instanceB;
+
+    @BeforeEach
+    void setUp() {
+        ProductChangeRepository repository = mock(ProductChangeRepository.class);
+        when(repository.findInvalidationsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long since = invocation.getArgument(0);
+            return outbox.stream().filter(invalidation -> invalidation.version() > since).toList();
+        });
+
+        cacheA = new CaffeineCacheManager(CacheConfig.PRODUCTS_CACHE);
+        cacheB = new CaffeineCacheManager(CacheConfig.PRODUCTS_CACHE);
+        instanceA = invalidator(repository, cacheA, "instance-a");
+        instanceB = invalidator(repository, cacheB, "instance-b");
+    }
+
+    @Test
+    void changeOnOneInstance_EvictsOnlyThatProductOnOthers() {
+        cacheA.getCache(CacheConfig.PRODUCTS_CACHE).put(PRODUCT, "fresh on a");
+        cacheB.getCache(CacheConfig.PRODUCTS_CACHE).put(PRODUCT, "stale on b");
+        cacheB.getCache(CacheConfig.PRODUCTS_CACHE).put(OTHER_PRODUCT, "unchanged");
+        outbox.add(new ProductInvalidation(PRODUCT, null, 1, "instance-a"));
+
+        instanceA.poll();
+        instanceB.poll();
+
+        assertNotNull(cacheA.getCache(CacheConfig.PRODUCTS_CACHE).get(PRODUCT));
+        assertNull(cacheB.getCache(CacheConfig.PRODUCTS_CACHE).get(PRODUCT));
+        assertNotNull(cacheB.getCache(CacheConfig.PRODUCTS_CACHE).get(OTHER_PRODUCT));
+        assertEquals(1, instanceA.getCursor());
+        assertEquals(1, instanceB.getCursor());
+    }
+
+    @Test
+    void staleInvalidation_DeliveredOutOfOrder_IsIgnored() {
+        instanceB.apply(List.of(new ProductInvalidation(PRODUCT, null, 5, "instance-a")));
+        cacheB.getCache(CacheConfig.PRODUCTS_CACHE).put(PRODUCT, "loaded after version 5");
+
+        instanceB.apply(List.of(new ProductInvalidation(PRODUCT, null, 4, "instance-a"),
+            new ProductInvalidation(PRODUCT, null, 5, "instance-a")));
+
+        assertNotNull(cacheB.getCache(CacheConfig.PRODUCTS_CACHE).get(PRODUCT));
+    }
+
+    private static ProductCacheInvalidator invalidator(ProductChangeRepository repository, CacheManager cacheManager,
+                                                       String instanceId) {
+        ClusterCacheProperties properties = new ClusterCacheProperties();
+        properties.setEnabled(true);
+        properties.setInstanceId(instanceId);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(mock(SessionFactory.class, RETURNS_DEEP_STUBS));
+        return new ProductCacheInvalidator(repository, cacheManager, entityManagerFactory, properties,
+            new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,207 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.dto.BulkImportResponse;
+import com.cloudfullstack.product.dto.CreateProductRequest;
+import com.cloudfullstack.product.dto.ProductChangeFeed;
+import com.cloudfullstack.product.dto.ProductChangeResponse;
+import com.cloudfullstack.product.entity.ProductChange;
+import com.cloudfullstack.product.repository.ProductChangeRepository;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.service.ProductChangeSequencer;
+import com.cloudfullstack.product.service.ProductChangeService;
+import com.cloudfullstack.product.service.ProductImportService;
+import com.cloudfullstack.product.service.ProductService;
+import com.cloudfullstack.product.service.StockWriteCoalescer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+// The change outbox against its own in-memory database
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:product-outbox",
+    "spring.r2dbc.url=r2dbc:h2:mem:///product-outbox",
+    "product.outbox.sequence-interval=50ms"
+})
+class ProductChangeOutboxTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private StockWriteCoalescer stockWriteCoalescer;
+
+    @Autowired
+    private ProductChangeService productChangeService;
+
+    @Autowired
+    private ProductChangeSequencer productChangeSequencer;
+
+    @Autowired
+    private ProductChangeRepository productChangeRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void mutations_ShouldWriteChangeRecordsInTheirOwnTransaction() {
+        String uuid = create("Tea Pot", "STORE-OUTBOX", 10);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Visible inside the mutating transaction, gone with its rollback
+        transaction.executeWithoutResult(status -> {
+            productService.updateStock(uuid, 3);
+            assertEquals(List.of(ProductChange.Type.CREATED, ProductChange.Type.STOCK_CHANGED), types(uuid));
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of(ProductChange.Type.CREATED), types(uuid));
+
+        productService.reduceStock(uuid, 2);
+        stockWriteCoalescer.submit(uuid, 6);
+        await().atMost(Duration.ofSeconds(5)).until(() -> changes(uuid).size() == 3);
+        productService.deleteProduct(uuid);
+
+        List<ProductChange> changes = changes(uuid);
+        assertEquals(List.of(ProductChange.Type.CREATED, ProductChange.Type.STOCK_CHANGED,
+            ProductChange.Type.STOCK_CHANGED, ProductChange.Type.DELETED), changes.stream().map(ProductChange::getType).toList());
+        assertEquals(List.of(8, 6), changes.subList(1, 3).stream().map(ProductChange::getStock).toList());
+    }
+
+    @Test
+    void importProducts_ShouldWriteOneCreatedRecordPerImportedRow() throws IOException {
+        String ndjson = "{\"title\":\"Imported Mug\",\"price\":4.50,\"storeId\":\"STORE-OUTBOX-IMPORT\",\"category\":\"Kitchen\",\"stock\":7}\n"
+            + "{\"title\":\"Imported Cup\",\"price\":3.50,\"storeId\":\"STORE-OUTBOX-IMPORT\",\"category\":\"Kitchen\",\"stock\":9}";
+
+        BulkImportResponse response = productImportService.importProducts(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, response.getImported());
+        productRepository.findByStoreIdAndActiveTrue("STORE-OUTBOX-IMPORT").forEach(product -> {
+            List<ProductChange> changes = changes(product.getProductUuid());
+            assertEquals(1, changes.size());
+            assertEquals(ProductChange.Type.CREATED, changes.get(0).getType());
+            assertEquals(product.getStock(), changes.get(0).getStock());
+        });
+    }
+
+    @Test
+    void changeFeed_WhenTransactionsCommitOutOfIdOrder_ShouldNotSkipTheLaterCommit() throws Exception {
+        // Different stores, so the two transactions share no counter rows
+        String first = create("Slow Writer", "STORE-OUTBOX-SLOW", 1);
+        String second = create("Fast Writer", "STORE-OUTBOX-FAST", 1);
+        awaitSequenced(first, second);
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Takes the lower record id, but commits last
+            Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                productService.updateStock(first, 11);
+                written.countDown();
+                awaitLatch(commit);
+            }));
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            productService.updateStock(second, 22);
+            awaitSequenced(second);
+
+            // A consumer reads up to the fast commit while the slow one is still open
+            ProductChangeFeed seen = productChangeService.getChanges(0, 1_000);
+            assertTrue(seen.getChanges().stream().noneMatch(change -> change.getProductUuid().equals(first)
+                && Integer.valueOf(11).equals(change.getStock())));
+
+            commit.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            awaitSequenced(first);
+
+            List<ProductChangeResponse> next = productChangeService.getChanges(seen.getNextCursor(), 1_000).getChanges();
+            assertTrue(next.stream().anyMatch(change -> change.getProductUuid().equals(first)
+                && Integer.valueOf(11).equals(change.getStock())), "the later commit must follow the cursor");
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+
+        ProductChange slowChange = changes(first).get(1);
+        ProductChange fastChange = changes(second).get(1);
+        assertTrue(slowChange.getId() < fastChange.getId());
+        assertTrue(slowChange.getSeq() > fastChange.getSeq());
+    }
+
+    @Test
+    void deleteSupersededBefore_ShouldKeepExactlyTheLatestChangePerProduct() {
+        String changed = create("Compacted Vase", "STORE-OUTBOX-COMPACT", 5);
+        productService.updateStock(changed, 4);
+        productService.updateStock(changed, 3);
+        String untouched = create("Single Vase", "STORE-OUTBOX-COMPACT", 5);
+        awaitSequenced(changed, untouched);
+
+        Integer removed = new TransactionTemplate(transactionManager).execute(status ->
+            productChangeRepository.deleteSupersededBefore(LocalDateTime.now().plusMinutes(1)));
+
+        assertTrue(removed >= 2);
+        List<ProductChange> kept = changes(changed);
+        assertEquals(1, kept.size());
+        assertEquals(ProductChange.Type.STOCK_CHANGED, kept.get(0).getType());
+        assertEquals(3, kept.get(0).getStock());
+        assertEquals(1, changes(untouched).size());
+    }
+
+    private String create(String title, String storeId, int stock) {
+        return productService.createProduct(
+            new CreateProductRequest(title, "Outbox", new BigDecimal("9.00"), storeId, storeId, stock))
+            .getProductUuid();
+    }
+
+    // This product's change records in insertion order
+    private List<ProductChange> changes(String uuid) {
+        return productChangeRepository.findAll().stream()
+            .filter(change -> change.getProductUuid().equals(uuid))
+            .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+            .toList();
+    }
+
+    private List<ProductChange.Type> types(String uuid) {
+        return changes(uuid).stream().map(ProductChange::getType).toList();
+    }
+
+    private void awaitSequenced(String... uuids) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            productChangeSequencer.sequence();
+            return List.of(uuids).stream().flatMap(uuid -> changes(uuid).stream()).allMatch(change -> change.getSeq() != null);
+        });
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.cloudfullstack.product;
 
 import com.cloudfullstack.product.controller.ProductController;
+import com.cloudfullstack.product.converter.ProductProtobufHttpMessageConverter;
+import com.cloudfullstack.product.dto.BulkImportResponse;
 import com.cloudfullstack.product.dto.CreateProductRequest;
+import com.cloudfullstack.product.dto.ProductBrowsePage;
+import com.cloudfullstack.product.dto.ProductChangeFeed;
+import com.cloudfullstack.product.dto.ProductChangeResponse;
+import com.cloudfullstack.product.dto.ProductCursorPage;
 import com.cloudfullstack.product.dto.UpdateProductRequest;
 import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.exception.InsufficientStockException;
+import com.cloudfullstack.product.metrics.ResponseSizeFilter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.google.protobuf.UnknownFieldSet;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -19,12 +34,23 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
+import com.cloudfullstack.product.service.ProductChangeService;
+import com.cloudfullstack.product.service.ProductExportService;
+import com.cloudfullstack.product.service.ProductImportService;
 import com.cloudfullstack.product.service.ProductService;
+import com.cloudfullstack.product.service.ReactiveProductService;
+import com.cloudfullstack.product.service.StockWriteCoalescer;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -36,6 +62,9 @@ import org.springframework.data.domain.PageRequest;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,9 +79,27 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductExportService productExportService;
+
+    @MockBean
+    private ProductImportService productImportService;
+
+    @MockBean
+    private StockWriteCoalescer stockWriteCoalescer;
+
+    @MockBean
+    private ReactiveProductService reactiveProductService;
+
+    @MockBean
+    private ProductChangeService productChangeService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private CreateProductRequest createProductRequest;
     private UpdateProductRequest updateProductRequest;
     private Product testProduct;
@@ -112,6 +159,116 @@ class ProductControllerTest {
         verify(productService).createProduct(any(CreateProductRequest.class));
     }
 
+    @Test
+    void getProductsByUuids_ReturnsProductsInRequestOrder() throws Exception {
+        when(productService.getProductsByUuids(List.of("550e8400-e29b-41d4-a716-446655440000", "unknown")))
+            .thenReturn(List.of(mapToProductResponse(testProduct)));
+
+        mockMvc.perform(get("/api/v1/products")
+                .param("uuids", "550e8400-e29b-41d4-a716-446655440000,unknown"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].productUuid").value("550e8400-e29b-41d4-a716-446655440000"));
+
+        verify(productService, never()).getAllProducts(anyInt(), anyInt(), anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void getProductsByUuidsBatch_ReturnsTheSameETagAsTheGetLookup() throws Exception {
+        when(productService.getProductsByUuids(List.of("550e8400-e29b-41d4-a716-446655440000")))
+            .thenReturn(List.of(mapToProductResponse(testProduct)));
+
+        String getETag = mockMvc.perform(get("/api/v1/products")
+                .param("uuids", "550e8400-e29b-41d4-a716-446655440000"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String postETag = mockMvc.perform(post("/api/v1/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of("550e8400-e29b-41d4-a716-446655440000"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotNull(postETag);
+        assertEquals(getETag, postETag);
+    }
+
+    @Test
+    void getProductsByUuidsBatch_TooManyUuids_ReturnsBadRequest() throws Exception {
+        List<String> uuids = java.util.stream.IntStream.range(0, 101).mapToObj(i -> "uuid-" + i).toList();
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(uuids)))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).getProductsByUuids(anyList());
+    }
+
+    @Test
+    void browseProductsByPrice_PassesFiltersToService() throws Exception {
+        when(productService.browseProductsByPrice(new BigDecimal("100"), new BigDecimal("1000"), "Electronics", null, 0, 20))
+            .thenReturn(List.of(mapToProductResponse(testProduct)));
+
+        mockMvc.perform(get("/api/v1/products/price-range")
+                .param("minPrice", "100")
+                .param("maxPrice", "1000")
+                .param("category", "Electronics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].price").value(999.99));
+    }
+
+    @Test
+    void browseProducts_ReturnsPageWithFacets() throws Exception {
+        ProductBrowsePage.Facets facets = new ProductBrowsePage.Facets(
+            java.util.Map.of("Electronics", 1L), java.util.Map.of("STORE-001", 1L),
+            List.of(new ProductBrowsePage.PriceBucket(new BigDecimal("500.00"), null, 1)));
+        when(productService.browseProducts("Electronics", null, BigDecimal.ZERO, null, 0, 20))
+            .thenReturn(new ProductBrowsePage(List.of(mapToProductResponse(testProduct)), 0, 20, 1, 1, facets));
+
+        mockMvc.perform(get("/api/v1/products/browse")
+                .param("category", "Electronics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.facets.categories.Electronics").value(1))
+                .andExpect(jsonPath("$.facets.stores.STORE-001").value(1))
+                .andExpect(jsonPath("$.facets.prices[0].from").value(500.00));
+    }
+
+    @Test
+    void getChanges_ReturnsChangesAfterCursor() throws Exception {
+        String uuid = "550e8400-e29b-41d4-a716-446655440000";
+        when(productChangeService.getChanges(41, 100)).thenReturn(new ProductChangeFeed(
+            List.of(new ProductChangeResponse(42, uuid, "STOCK_CHANGED", 95, LocalDateTime.now())), 42, false));
+
+        mockMvc.perform(get("/api/v1/products/changes").param("since", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].productUuid").value(uuid))
+                .andExpect(jsonPath("$.changes[0].type").value("STOCK_CHANGED"))
+                .andExpect(jsonPath("$.nextCursor").value(42))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void streamLowStock_OpensEventStream() throws Exception {
+        mockMvc.perform(get("/api/v1/products/low-stock/stream"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void getStoreStats_UnknownStore_ReturnsZeroCounters() throws Exception {
+        mockMvc.perform(get("/api/v1/products/stats/stores/STORE-404"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dimension").value("STORE"))
+                .andExpect(jsonPath("$.key").value("STORE-404"))
+                .andExpect(jsonPath("$.activeCount").value(0))
+                .andExpect(jsonPath("$.totalStock").value(0));
+    }
+
     @Test
     void createProduct_ValidationError_BlankTitle() throws Exception {
         createProductRequest.setTitle("");
@@ -146,6 +303,23 @@ class ProductControllerTest {
         verify(productService, never()).createProduct(any(CreateProductRequest.class));
     }
 
+    @Test
+    void importProducts_ReturnsSummary() throws Exception {
+        BulkImportResponse summary = new BulkImportResponse(2, 1, 1,
+            List.of(new BulkImportResponse.RowError(1, List.of("Price is required"))), 12, 83.3);
+        when(productImportService.importProducts(any(InputStream.class))).thenReturn(summary);
+
+        mockMvc.perform(post("/api/v1/products/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(createProductRequest) + "\n{\"title\":\"x\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(1));
+
+        verify(productImportService).importProducts(any(InputStream.class));
+    }
+
     @Test
     void getAllProducts_Success() throws Exception {
         List<com.cloudfullstack.product.dto.ProductResponse> products = Arrays.asList(
@@ -154,7 +328,7 @@ class ProductControllerTest {
         Page<com.cloudfullstack.product.dto.ProductResponse> page = 
             new PageImpl<>(products, PageRequest.of(0, 10), 1);
 
-        when(productService.getAllProducts(0, 10, "createdAt", "desc"))
+        when(productService.getAllProducts(0, 10, "createdAt", "desc", true))
             .thenReturn(page);
 
         mockMvc.perform(get("/api/v1/products")
@@ -172,7 +346,25 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.number").value(0))
                 .andExpect(jsonPath("$.size").value(10));
 
-        verify(productService).getAllProducts(0, 10, "createdAt", "desc");
+        verify(productService).getAllProducts(0, 10, "createdAt", "desc", true);
+    }
+
+    @Test
+    void scrollProducts_Success() throws Exception {
+        ProductCursorPage page = new ProductCursorPage(
+            List.of(mapToProductResponse(testProduct)), "next-token", true, 1);
+
+        when(productService.getProductsAfter(null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/products/scroll")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(productService).getProductsAfter(null, 1);
     }
 
     @Test
@@ -191,6 +383,67 @@ class ProductControllerTest {
         verify(productService).getProductByUuid(uuid);
     }
 
+    @Test
+    void getProduct_RecordsResponseSizeByEndpoint() throws Exception {
+        String uuid = "550e8400-e29b-41d4-a716-446655440000";
+        when(productService.getProductByUuid(uuid))
+            .thenReturn(mapToProductResponse(testProduct));
+
+        // Other tests in this context hit the same endpoint, so compare this request's share only
+        DistributionSummary earlier = meterRegistry.find(ResponseSizeFilter.RESPONSE_SIZE)
+            .tag("endpoint", "GET /api/v1/products/{uuid}")
+            .tag("status", "200")
+            .summary();
+        double before = earlier == null ? 0 : earlier.totalAmount();
+
+        int bodySize = mockMvc.perform(get("/api/v1/products/{uuid}", uuid))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
+
+        DistributionSummary responseSize = meterRegistry.get(ResponseSizeFilter.RESPONSE_SIZE)
+            .tag("endpoint", "GET /api/v1/products/{uuid}")
+            .tag("status", "200")
+            .summary();
+        assertEquals(bodySize, responseSize.totalAmount() - before);
+    }
+
+    @Test
+    void getProduct_WithMatchingETag_ReturnsNotModified() throws Exception {
+        String uuid = "550e8400-e29b-41d4-a716-446655440000";
+        when(productService.getProductByUuid(uuid))
+            .thenReturn(mapToProductResponse(testProduct));
+
+        String etag = mockMvc.perform(get("/api/v1/products/{uuid}", uuid))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertTrue(etag.startsWith("W/"), etag);
+        mockMvc.perform(get("/api/v1/products/{uuid}", uuid)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        // The tag is shared by every format, so it also validates a binary representation
+        mockMvc.perform(get("/api/v1/products/{uuid}", uuid)
+                .accept("application/cbor")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getProductsByStore_WithStaleETag_ReturnsBody() throws Exception {
+        String storeId = "STORE-001";
+        when(productService.getProductsByStore(storeId, true))
+            .thenReturn(List.of(mapToProductResponse(testProduct)));
+
+        mockMvc.perform(get("/api/v1/products/store/{storeId}", storeId)
+                .header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
     @Test
     void updateProduct_Success() throws Exception {
         String uuid = "550e8400-e29b-41d4-a716-446655440000";
@@ -252,7 +505,7 @@ class ProductControllerTest {
             mapToProductResponse(testProduct)
         );
 
-        when(productService.getProductsByStore(storeId))
+        when(productService.getProductsByStore(storeId, true))
             .thenReturn(products);
         mockMvc.perform(get("/api/v1/products/store/{storeId}", storeId))
                 .andExpect(status().isOk())
@@ -261,7 +514,113 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[0].productUuid").value("550e8400-e29b-41d4-a716-446655440000"))
                 .andExpect(jsonPath("$[0].storeId").value(storeId));
 
-        verify(productService).getProductsByStore(storeId);
+        verify(productService).getProductsByStore(storeId, true);
+    }
+
+    @Test
+    void getProductsByStore_AcceptCbor_ReturnsCborWithJsonFieldNames() throws Exception {
+        String storeId = "STORE-001";
+        when(productService.getProductsByStore(storeId, true))
+            .thenReturn(List.of(mapToProductResponse(testProduct)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/products/store/{storeId}", storeId)
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn();
+
+        JsonNode products = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("550e8400-e29b-41d4-a716-446655440000", products.get(0).get("productUuid").asText());
+        assertEquals(storeId, products.get(0).get("storeId").asText());
+    }
+
+    @Test
+    void getAllProducts_AcceptProtobuf_ReturnsProductPage() throws Exception {
+        Page<com.cloudfullstack.product.dto.ProductResponse> page =
+            new PageImpl<>(List.of(mapToProductResponse(testProduct)), PageRequest.of(0, 10), 1);
+        when(productService.getAllProducts(0, 10, "createdAt", "desc", true))
+            .thenReturn(page);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/products")
+                .accept(ProductProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProductProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn();
+
+        // Field numbers of ProductPage / ProductResponse in product.proto
+        UnknownFieldSet productPage = UnknownFieldSet.parseFrom(result.getResponse().getContentAsByteArray());
+        UnknownFieldSet product = UnknownFieldSet.parseFrom(
+            productPage.getField(1).getLengthDelimitedList().get(0));
+        assertEquals(1L, productPage.getField(4).getVarintList().get(0));
+        assertEquals("iPhone 15 Pro", product.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(99999L, product.getField(4).getVarintList().get(0));
+    }
+
+    @Test
+    void exportProducts_StreamsNdjson() throws Exception {
+        String storeId = "STORE-001";
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"productUuid\":\"a\"}\n{\"productUuid\":\"b\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(productExportService).exportProducts(eq(storeId), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/products/export")
+                .param("storeId", storeId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"productUuid\":\"a\"}\n{\"productUuid\":\"b\"}\n"));
+
+        verify(productExportService).exportProducts(eq(storeId), any(OutputStream.class));
+    }
+
+    @Test
+    void getProductReactive_ResolvesMonoAsync() throws Exception {
+        String uuid = "550e8400-e29b-41d4-a716-446655440000";
+        when(reactiveProductService.getProductByUuid(uuid))
+            .thenReturn(Mono.just(mapToProductResponse(testProduct)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/reactive/products/{uuid}", uuid))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.productUuid").value(uuid))
+                .andExpect(jsonPath("$.title").value("iPhone 15 Pro"));
+    }
+
+    @Test
+    void getAllProductsReactive_PageOutOfRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/reactive/products").param("page", "10001"))
+                .andExpect(status().isBadRequest());
+
+        verify(reactiveProductService, never()).getAllProducts(anyInt(), anyInt(), anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void streamProductsReactive_WritesNdjsonPerProduct() throws Exception {
+        String storeId = "STORE-001";
+        when(reactiveProductService.streamProducts(storeId))
+            .thenReturn(Flux.just(mapToProductResponse(testProduct), mapToProductResponse(testProduct)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/reactive/products/stream")
+                .param("storeId", storeId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("}\n{\"productUuid\"")));
+
+        verify(reactiveProductService).streamProducts(storeId);
     }
 
     @Test
@@ -271,7 +630,7 @@ class ProductControllerTest {
             mapToProductResponse(testProduct)
         );
 
-        when(productService.searchProducts(searchTerm))
+        when(productService.searchProducts(searchTerm, 0, 20))
             .thenReturn(products);
         mockMvc.perform(get("/api/v1/products/search")
                 .param("title", searchTerm))
@@ -280,7 +639,7 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].title").value(containsString("iPhone")));
 
-        verify(productService).searchProducts(searchTerm);
+        verify(productService).searchProducts(searchTerm, 0, 20);
     }
 
     @Test
@@ -296,6 +655,19 @@ class ProductControllerTest {
         verify(productService).updateStock(uuid, newStock);
     }
 
+    @Test
+    void updateStock_WhenCoalescing_ReturnsAcceptedWithoutWriting() throws Exception {
+        String uuid = "550e8400-e29b-41d4-a716-446655440000";
+        when(stockWriteCoalescer.isEnabled()).thenReturn(true);
+
+        mockMvc.perform(post("/api/v1/products/{uuid}/stock", uuid)
+                .param("quantity", "12"))
+                .andExpect(status().isAccepted());
+
+        verify(stockWriteCoalescer).submit(uuid, 12);
+        verify(productService, never()).updateStock(anyString(), anyInt());
+    }
+
     @Test
     void updateStock_ValidationError_NegativeQuantity() throws Exception {
         String uuid = "550e8400-e29b-41d4-a716-446655440000";
@@ -308,6 +680,41 @@ class ProductControllerTest {
         verify(productService, never()).updateStock(anyString(), anyInt());
     }
 
+    @Test
+    void purchaseProduct_Success() throws Exception {
+        String uuid = "550e8400-e29b-41d4-a716-446655440000";
+        doNothing().when(productService).reduceStock(uuid, 2);
+
+        mockMvc.perform(post("/api/v1/products/{uuid}/purchase", uuid)
+                .param("quantity", "2"))
+                .andExpect(status().isOk());
+
+        verify(productService).reduceStock(uuid, 2);
+    }
+
+    @Test
+    void purchaseProduct_InsufficientStock() throws Exception {
+        String uuid = "550e8400-e29b-41d4-a716-446655440000";
+        doThrow(new InsufficientStockException("Insufficient stock"))
+            .when(productService).reduceStock(uuid, 1000);
+
+        mockMvc.perform(post("/api/v1/products/{uuid}/purchase", uuid)
+                .param("quantity", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INSUFFICIENT_STOCK"));
+    }
+
+    @Test
+    void purchaseProduct_ValidationError_ZeroQuantity() throws Exception {
+        String uuid = "550e8400-e29b-41d4-a716-446655440000";
+
+        mockMvc.perform(post("/api/v1/products/{uuid}/purchase", uuid)
+                .param("quantity", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).reduceStock(anyString(), anyInt());
+    }
+
     private com.cloudfullstack.product.dto.ProductResponse mapToProductResponse(Product product) {
         return new com.cloudfullstack.product.dto.ProductResponse(
             product.getProductUuid(),
@@ -0,0 +1,88 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.index.ProductFacetCollector;
+import com.cloudfullstack.product.index.ProductPriceIndex;
+import com.cloudfullstack.product.repository.ProductRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProductPriceIndexTest {
+
+    private static final BigDecimal HUGE = new BigDecimal("1E+40");
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex(mock(ProductRepository.class));
+        index.index("uuid-b", new BigDecimal("20.00"), "STORE-1", "Books");
+        index.index("uuid-a", new BigDecimal("20.00"), "STORE-1", "Books");
+        index.index("uuid-c", new BigDecimal("5.00"), "STORE-1", "Toys");
+        index.index("uuid-d", new BigDecimal("15.00"), "STORE-2", "Books");
+    }
+
+    @Test
+    void search_WithStoreAndCategory_ShouldReturnOnlyThatPair() {
+        assertEquals(List.of("uuid-a", "uuid-b"),
+            index.search(BigDecimal.ZERO, new BigDecimal("100"), "Books", "STORE-1", 0, 10));
+        assertEquals(List.of("uuid-b"),
+            index.search(BigDecimal.ZERO, new BigDecimal("100"), "Books", "STORE-1", 1, 10));
+        assertEquals(List.of(), index.search(BigDecimal.ZERO, new BigDecimal("100"), "Toys", "STORE-2", 0, 10));
+    }
+
+    @Test
+    void search_AfterCategoryChange_ShouldMoveTheProductBetweenPairs() {
+        index.index("uuid-c", new BigDecimal("5.00"), "STORE-1", "Books");
+
+        assertEquals(List.of("uuid-c", "uuid-a", "uuid-b"),
+            index.search(BigDecimal.ZERO, new BigDecimal("100"), "Books", "STORE-1", 0, 10));
+        assertEquals(List.of(), index.search(BigDecimal.ZERO, new BigDecimal("100"), "Toys", "STORE-1", 0, 10));
+    }
+
+    @Test
+    void search_WithHugeBounds_ShouldClampInsteadOfFailing() {
+        assertEquals(List.of("uuid-c", "uuid-d", "uuid-a", "uuid-b"),
+            index.search(BigDecimal.ZERO, HUGE, null, null, 0, 10));
+        assertEquals(List.of(), index.search(HUGE, HUGE, null, null, 0, 10));
+    }
+
+    @Test
+    void facetCollector_WithHugeBounds_ShouldClampInsteadOfFailing() {
+        ProductFacetCollector collector = new ProductFacetCollector(null, null, BigDecimal.ZERO, HUGE, List.of(), 0, 10);
+        index.browse(collector);
+
+        assertEquals(4, collector.total());
+        assertDoesNotThrow(() -> new ProductFacetCollector(null, null, HUGE, null, List.of(), 0, 10));
+    }
+
+    @Test
+    void onProductChanged_WhenOlderEventArrivesLast_ShouldKeepTheNewerPrice() {
+        ProductChangedEvent older = ProductChangedEvent.updated(response("uuid-c", "5.00"));
+        ProductChangedEvent newer = ProductChangedEvent.updated(response("uuid-c", "50.00"));
+
+        index.onProductChanged(newer);
+        index.onProductChanged(older);
+
+        assertEquals(List.of("uuid-c"), index.search(new BigDecimal("40"), new BigDecimal("60"), null, null, 0, 10));
+        assertEquals(List.of(), index.search(BigDecimal.ZERO, new BigDecimal("10"), null, null, 0, 10));
+    }
+
+    private static ProductResponse response(String uuid, String price) {
+        ProductResponse product = new ProductResponse();
+        product.setProductUuid(uuid);
+        product.setPrice(new BigDecimal(price));
+        product.setStoreId("STORE-1");
+        product.setCategory("Toys");
+        product.setActive(true);
+        return product;
+    }
+}
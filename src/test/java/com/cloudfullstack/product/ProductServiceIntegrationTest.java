@@ -0,0 +1,342 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.config.HibernateCacheConfig;
+import com.cloudfullstack.product.config.ProductImportProperties;
+import com.cloudfullstack.product.dto.BulkImportResponse;
+import com.cloudfullstack.product.dto.CreateProductRequest;
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.dto.ProductStatsResponse;
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.entity.ProductStatsId.Dimension;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.event.ProductStockChangedEvent;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.service.ProductExportService;
+import com.cloudfullstack.product.service.ProductImportService;
+import com.cloudfullstack.product.service.ProductService;
+import com.cloudfullstack.product.service.ProductStatsService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Real services against their own in-memory database
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:product-it",
+    "spring.r2dbc.url=r2dbc:h2:mem:///product-it"
+})
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+class ProductServiceIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductImportProperties productImportProperties;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductStatsService productStatsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void createProduct_ShouldReturnDatabaseTimestamps() {
+        ProductResponse response = productService.createProduct(
+            new CreateProductRequest("Desk Lamp", "LED", new BigDecimal("24.90"), "STORE-CREATE", "Home", 12));
+
+        assertNotNull(response.getCreatedAt());
+        assertNotNull(response.getUpdatedAt());
+        ProductChangedEvent event = applicationEvents.stream(ProductChangedEvent.class).findFirst().orElseThrow();
+        assertEquals(response.getCreatedAt(), event.product().getCreatedAt());
+        assertEquals(response.getUpdatedAt(), event.product().getUpdatedAt());
+    }
+
+    @Test
+    void getProduct_WithUppercaseUuid_ShouldSeeStockSetThroughLowercaseUuid() throws Exception {
+        String uuid = productService.createProduct(
+            new CreateProductRequest("Floor Lamp", "LED", new BigDecimal("59.00"), "STORE-CASE", "Home", 20))
+            .getProductUuid();
+        String upperCase = uuid.toUpperCase();
+
+        mockMvc.perform(get("/api/v1/products/{uuid}", upperCase))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.productUuid").value(uuid))
+            .andExpect(jsonPath("$.stock").value(20));
+        mockMvc.perform(post("/api/v1/products/{uuid}/stock", uuid).param("quantity", "3"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products/{uuid}", upperCase))
+            .andExpect(jsonPath("$.stock").value(3));
+        assertEquals(List.of(uuid), productService.getProductsByUuids(List.of(upperCase, uuid)).stream()
+            .map(ProductResponse::getProductUuid).toList());
+    }
+
+    @Test
+    void reduceStock_ShouldRefreshCachedReadsAndCountersFromTheReturnedRow() {
+        String uuid = productService.createProduct(
+            new CreateProductRequest("Desk Fan", "Quiet", new BigDecimal("10.00"), "STORE-PURCHASE", "Home", 12))
+            .getProductUuid();
+        // Warm the entity and query caches the purchase has to invalidate
+        assertEquals(12, productRepository.findByStoreIdAndActiveTrue("STORE-PURCHASE").get(0).getStock());
+        assertEquals(12, productService.getProductsByStore("STORE-PURCHASE", true).get(0).getStock());
+
+        productService.reduceStock(uuid, 5);
+
+        assertEquals(7, productRepository.findByStoreIdAndActiveTrue("STORE-PURCHASE").get(0).getStock());
+        assertEquals(7, productService.getProductsByStore("STORE-PURCHASE", true).get(0).getStock());
+        assertEquals(7, productService.getProductByUuid(uuid).getStock());
+        ProductStatsResponse stats = productStatsService.getStats(Dimension.STORE, "STORE-PURCHASE");
+        assertEquals(7, stats.getTotalStock());
+        assertEquals(0, new BigDecimal("70.00").compareTo(stats.getStockValue()));
+        assertEquals(7, applicationEvents.stream(ProductStockChangedEvent.class)
+            .filter(event -> event.productUuid().equals(uuid)).findFirst().orElseThrow().stock());
+    }
+
+    @Test
+    void getLowStockProducts_AboveTheWatchedThresholds_ShouldReturnLowestStockFirst() {
+        List<String> created = IntStream.of(40, 20, 30)
+            .mapToObj(stock -> productService.createProduct(
+                new CreateProductRequest("Low Stock Lamp", null, new BigDecimal("8.00"), "STORE-LOW-DB", "Lamps", stock)))
+            .map(ProductResponse::getProductUuid)
+            .toList();
+
+        // 50 is above every low-stock threshold, so the database answers
+        List<Integer> stocks = productService.getLowStockProducts(50).stream()
+            .filter(product -> created.contains(product.getProductUuid()))
+            .map(ProductResponse::getStock)
+            .toList();
+
+        assertEquals(List.of(20, 30, 40), stocks);
+    }
+
+    @Test
+    void secondLevelCache_ShouldServeRepeatedReadsAndInvalidateOnlyTheMutatedProduct() {
+        String first = productService.createProduct(
+            new CreateProductRequest("Oak Desk", "Solid", new BigDecimal("120.00"), "STORE-L2", "Office", 4))
+            .getProductUuid();
+        String second = productService.createProduct(
+            new CreateProductRequest("Oak Chair", "Solid", new BigDecimal("60.00"), "STORE-L2", "Office", 9))
+            .getProductUuid();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Long> ids = transaction.execute(status -> productRepository.findByStoreIdAndActiveTrue("STORE-L2")
+            .stream().map(Product::getId).toList());
+        long entityHits = statistics.getDomainDataRegionStatistics(HibernateCacheConfig.PRODUCT_REGION).getHitCount();
+        long queryHits = statistics.getQueryRegionStatistics(HibernateCacheConfig.STORE_QUERY_REGION).getHitCount();
+
+        transaction.executeWithoutResult(status -> productRepository.findByStoreIdAndActiveTrue("STORE-L2"));
+        ids.forEach(id -> transaction.executeWithoutResult(status -> productRepository.findById(id)));
+        assertEquals(queryHits + 1, statistics.getQueryRegionStatistics(HibernateCacheConfig.STORE_QUERY_REGION).getHitCount());
+        assertEquals(entityHits + 2, statistics.getDomainDataRegionStatistics(HibernateCacheConfig.PRODUCT_REGION).getHitCount());
+
+        productService.updateStock(first, 1);
+
+        // The changed product's entry is replaced, the other one stays; both still load without a query
+        assertTrue(ids.stream().allMatch(id -> sessionFactory.getCache().containsEntity(Product.class, id)),
+            "a stock change must not clear other products from the entity region");
+        assertEquals(List.of(1, 9), ids.stream()
+            .map(id -> transaction.execute(status -> productRepository.findById(id).orElseThrow().getStock()))
+            .sorted().toList());
+        assertEquals(entityHits + 4, statistics.getDomainDataRegionStatistics(HibernateCacheConfig.PRODUCT_REGION).getHitCount());
+        assertEquals(List.of(1, 9), transaction.execute(status -> productRepository.findByStoreIdAndActiveTrue("STORE-L2")
+            .stream().map(Product::getStock).sorted().toList()));
+
+        productService.deleteProduct(second);
+
+        assertTrue(ids.stream().allMatch(id -> sessionFactory.getCache().containsEntity(Product.class, id)));
+        assertEquals(List.of(first), transaction.execute(status -> productRepository.findByStoreIdAndActiveTrue("STORE-L2")
+            .stream().map(Product::getProductUuid).toList()));
+    }
+
+    @Test
+    void exportProducts_ShouldNotFillTheSecondLevelCache() throws IOException {
+        String uuid = productService.createProduct(
+            new CreateProductRequest("Export Stool", null, new BigDecimal("25.00"), "STORE-EXPORT-L2", "Office", 3))
+            .getProductUuid();
+        long id = productRepository.findByProductUuid(uuid).orElseThrow().getId();
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        secondLevelCache.evictEntityData(Product.class, id);
+
+        assertEquals(1, productExportService.exportProducts("STORE-EXPORT-L2", new ByteArrayOutputStream()));
+
+        assertFalse(secondLevelCache.containsEntity(Product.class, id));
+    }
+
+    @Test
+    void reconcile_WhileStockChangeIsUncommitted_ShouldCountItExactlyOnce() throws Exception {
+        String uuid = productService.createProduct(
+            new CreateProductRequest("Wall Clock", "Round", new BigDecimal("2.00"), "STORE-RECONCILE", "Decor", 10))
+            .getProductUuid();
+        CountDownLatch deltaApplied = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> stockChange = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                productService.updateStock(uuid, 25);
+                deltaApplied.countDown();
+                await(commit);
+            }));
+            assertTrue(deltaApplied.await(10, TimeUnit.SECONDS));
+            Future<Integer> reconcile = executor.submit(productStatsService::reconcile);
+
+            // The recount waits for the counter row the stock change holds
+            assertThrows(TimeoutException.class, () -> reconcile.get(300, TimeUnit.MILLISECONDS));
+            commit.countDown();
+            stockChange.get(10, TimeUnit.SECONDS);
+            reconcile.get(10, TimeUnit.SECONDS);
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+
+        ProductStatsResponse stats = productStatsService.getStats(Dimension.STORE, "STORE-RECONCILE");
+        assertEquals(1, stats.getActiveCount());
+        assertEquals(25, stats.getTotalStock());
+        assertEquals(0, new BigDecimal("50.00").compareTo(stats.getStockValue()));
+    }
+
+    @Test
+    void reconcile_ShouldZeroCountersNoLongerBackedByProducts() {
+        String uuid = productService.createProduct(
+            new CreateProductRequest("Old Lamp", "Brass", new BigDecimal("8.00"), "STORE-GONE", "Antiques", 3))
+            .getProductUuid();
+        productRepository.findByProductUuid(uuid).ifPresent(product -> {
+            product.setActive(false);
+            productRepository.save(product);
+        });
+
+        productStatsService.reconcile();
+
+        assertEquals(0, productStatsService.getStats(Dimension.STORE, "STORE-GONE").getActiveCount());
+        assertEquals(0, productStatsService.getStats(Dimension.CATEGORY, "Antiques").getTotalStock());
+    }
+
+    @Test
+    void importProducts_ShouldInsertValidRowsAndReportTheRest() throws IOException {
+        String ndjson = String.join("\n",
+            row("Imported Chair", "STORE-IMPORT", "Furniture"),
+            "{\"title\":\"Free Chair\",\"price\":0,\"storeId\":\"STORE-IMPORT\",\"category\":\"Furniture\",\"stock\":1}",
+            "{\"title\":\"Odd Chair\",\"price\":10,\"storeId\":\"STORE-IMPORT\",\"category\":\"Furniture\",\"stock\":\"many\"}",
+            row("Imported Table", "STORE-IMPORT", "Furniture"),
+            // Passes validation, but the category does not fit its column: fails the batch, then only its own row
+            row("Imported Shelf", "STORE-IMPORT", "F".repeat(300)));
+
+        BulkImportResponse response = productImportService.importProducts(stream(ndjson));
+
+        assertEquals(5, response.getReceived());
+        assertEquals(2, response.getImported());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(1L, 2L, 4L), response.getErrors().stream().map(BulkImportResponse.RowError::getRow).toList());
+        assertEquals(List.of("Price must be greater than 0"), response.getErrors().get(0).getMessages());
+        assertTrue(response.getErrors().get(2).getMessages().get(0).startsWith("Insert failed"));
+        assertEquals(List.of("Imported Chair", "Imported Table"), productRepository.findByStoreIdAndActiveTrue("STORE-IMPORT")
+            .stream().map(product -> product.getTitle()).sorted().toList());
+    }
+
+    @Test
+    void importProducts_WithManyBadRows_ShouldListOnlyTheFirstErrorsAndCountAll() throws IOException {
+        String ndjson = IntStream.range(0, 5)
+            .mapToObj(i -> "{\"title\":\"Free Lamp " + i + "\",\"price\":0,\"storeId\":\"STORE-IMPORT-CAP\",\"category\":\"Lamps\",\"stock\":1}")
+            .collect(Collectors.joining("\n"));
+        int maxErrors = productImportProperties.getMaxErrors();
+        productImportProperties.setMaxErrors(2);
+        try {
+            BulkImportResponse response = productImportService.importProducts(stream(ndjson));
+
+            assertEquals(5, response.getFailed());
+            assertEquals(List.of(0L, 1L), response.getErrors().stream().map(BulkImportResponse.RowError::getRow).toList());
+        } finally {
+            productImportProperties.setMaxErrors(maxErrors);
+        }
+    }
+
+    @Test
+    void importProducts_ShouldBatchInserts() throws IOException {
+        int rows = 200;
+        String ndjson = IntStream.range(0, rows)
+            .mapToObj(i -> row("Batched Product " + i, "STORE-BATCH", "Bulk"))
+            .collect(Collectors.joining("\n"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long insertsBefore = statistics.getEntityInsertCount();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        BulkImportResponse response = productImportService.importProducts(stream(ndjson));
+
+        assertEquals(rows, response.getImported());
+        assertEquals(rows, productRepository.countByStoreIdAndActiveTrue("STORE-BATCH"));
+        // One product and one change record per row, but only a handful of prepared statements
+        assertTrue(statistics.getEntityInsertCount() - insertsBefore >= 2L * rows);
+        assertTrue(statistics.getPrepareStatementCount() - statementsBefore < rows / 4,
+            "prepared statements: " + (statistics.getPrepareStatementCount() - statementsBefore));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String row(String title, String storeId, String category) {
+        return "{\"title\":\"" + title + "\",\"price\":19.99,\"storeId\":\"" + storeId
+            + "\",\"category\":\"" + category + "\",\"stock\":5}";
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
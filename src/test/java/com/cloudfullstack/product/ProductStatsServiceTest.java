@@ -0,0 +1,36 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.entity.Product;
+import com.cloudfullstack.product.repository.ProductStatsRepository;
+import com.cloudfullstack.product.service.ProductStatsService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProductStatsServiceTest {
+
+    @Test
+    void recordCreated_ShouldWriteCounterRowsInPrimaryKeyOrder() {
+        ProductStatsRepository repository = mock(ProductStatsRepository.class);
+        ProductStatsService service = new ProductStatsService(repository);
+
+        service.recordCreated(List.of(
+            new Product("Kettle", null, new BigDecimal("30.00"), "STORE-B", "Kitchen", 1),
+            new Product("Sofa", null, new BigDecimal("500.00"), "STORE-A", "Furniture", 1),
+            new Product("Lamp", null, new BigDecimal("40.00"), "STORE-C", "Lighting", 1)));
+
+        InOrder inOrder = inOrder(repository);
+        for (String[] row : new String[][] {
+            {"CATEGORY", "Furniture"}, {"CATEGORY", "Kitchen"}, {"CATEGORY", "Lighting"},
+            {"STORE", "STORE-A"}, {"STORE", "STORE-B"}, {"STORE", "STORE-C"}}) {
+            inOrder.verify(repository).applyDelta(eq(row[0]), eq(row[1]), anyLong(), anyLong(), any(BigDecimal.class));
+        }
+        verifyNoMoreInteractions(repository);
+    }
+}
@@ -0,0 +1,67 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.index.ProductTitleIndex;
+import com.cloudfullstack.product.repository.ProductRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProductTitleIndexTest {
+
+    private ProductTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductTitleIndex(mock(ProductRepository.class));
+        index.index("uuid-phone", "iPhone 15 Pro");
+        index.index("uuid-pad", "iPad Air");
+        index.index("uuid-mac", "MacBook Pro 14");
+    }
+
+    @Test
+    void search_WithShortQuery_ShouldMatchFromPostings() {
+        assertEquals(List.of("uuid-pad", "uuid-phone"), index.search("ip", 0, 10));
+        assertEquals(List.of("uuid-phone", "uuid-mac"), index.search("1", 0, 10));
+        assertEquals(List.of(), index.search("zz", 0, 10));
+    }
+
+    @Test
+    void search_AfterTitleChange_ShouldDropOldShortGrams() {
+        index.index("uuid-pad", "Galaxy Tab");
+
+        assertEquals(List.of("uuid-phone"), index.search("ip", 0, 10));
+        assertEquals(List.of("uuid-pad"), index.search("ga", 0, 10));
+    }
+
+    @Test
+    void search_WithOffsetBeyondIntRange_ShouldReturnEmptyPage() {
+        assertEquals(List.of(), index.search("pro", (long) Integer.MAX_VALUE * 100, 10));
+    }
+
+    @Test
+    void onProductChanged_WhenOlderEventArrivesLast_ShouldKeepTheNewerTitle() {
+        ProductChangedEvent older = ProductChangedEvent.updated(response("uuid-pad", "iPad Air"));
+        ProductChangedEvent newer = ProductChangedEvent.updated(response("uuid-pad", "Galaxy Tab"));
+
+        index.onProductChanged(newer);
+        index.onProductChanged(older);
+
+        assertEquals(List.of("uuid-pad"), index.search("galaxy", 0, 10));
+        assertEquals(List.of(), index.search("air", 0, 10));
+    }
+
+    private static ProductResponse response(String uuid, String title) {
+        ProductResponse product = new ProductResponse();
+        product.setProductUuid(uuid);
+        product.setTitle(title);
+        product.setActive(true);
+        return product;
+    }
+}
@@ -0,0 +1,106 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.config.ProductUuidFilterProperties;
+import com.cloudfullstack.product.dto.ProductResponse;
+import com.cloudfullstack.product.event.ProductChangedEvent;
+import com.cloudfullstack.product.index.ProductUuidFilter;
+import com.cloudfullstack.product.repository.ProductRepository;
+import com.cloudfullstack.product.util.ProductUuids;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductUuidFilterTest {
+
+    private ProductRepository productRepository;
+    private ProductUuidFilterProperties properties;
+    private ProductUuidFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        properties = new ProductUuidFilterProperties();
+        properties.setExpectedInsertions(10_000);
+        properties.setClockSkew(Duration.ofMinutes(1));
+        filter = new ProductUuidFilter(productRepository, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void mightExist_AfterRebuild_ShouldPassEveryKnownUuid() {
+        List<String> known = Stream.generate(() -> mintedAgo(Duration.ofMinutes(5)).toString()).limit(5_000).toList();
+        when(productRepository.streamAllProductUuids()).thenReturn(known.stream());
+
+        filter.rebuild();
+
+        assertTrue(filter.isReady());
+        assertTrue(known.stream().allMatch(filter::mightExist));
+        assertTrue(known.stream().map(String::toUpperCase).allMatch(filter::mightExist));
+    }
+
+    @Test
+    void mightExist_ForUnknownUuid_ShouldRejectOnlyWhenMintedBeforeTheCoveredWindow() {
+        when(productRepository.streamAllProductUuids()).thenReturn(Stream.empty());
+        filter.rebuild();
+
+        // Older than build time minus clock-skew: the filter would know it
+        assertFalse(filter.mightExist(mintedAgo(Duration.ofMinutes(2)).toString()));
+        // Inside the skew window or newer, e.g. created on another instance: ask the database
+        assertTrue(filter.mightExist(mintedAgo(Duration.ofSeconds(30)).toString()));
+        assertTrue(filter.mightExist(ProductUuids.newUuid()));
+        // Pre-v7 UUIDs carry no time and predate the filter
+        assertFalse(filter.mightExist("550e8400-e29b-41d4-a716-446655440000"));
+    }
+
+    @Test
+    void rebuild_ShouldKeepProductsCreatedWhileReadingTheTable() {
+        // Minted before the rebuild, but committed while it streams and missing from its snapshot
+        String created = mintedAgo(Duration.ofMinutes(5)).toString();
+        String existing = mintedAgo(Duration.ofMinutes(5)).toString();
+        when(productRepository.streamAllProductUuids()).thenReturn(Stream.of(existing)
+            .peek(uuid -> filter.onProductChanged(ProductChangedEvent.created(response(created)))));
+
+        filter.rebuild();
+
+        assertTrue(filter.mightExist(existing));
+        assertTrue(filter.mightExist(created));
+    }
+
+    @Test
+    void recordMissing_ShouldCoverEverySpellingUntilTheProductIsCreated() {
+        String uuid = ProductUuids.newUuid();
+
+        filter.recordMissing(uuid.toUpperCase());
+
+        assertFalse(filter.mightExist(uuid));
+        assertFalse(filter.mightExist(uuid.toUpperCase()));
+
+        filter.onProductChanged(ProductChangedEvent.created(response(uuid)));
+
+        assertTrue(filter.mightExist(uuid.toUpperCase()));
+    }
+
+    // A UUIDv7 minted the given time ago
+    private static UUID mintedAgo(Duration age) {
+        long millis = System.currentTimeMillis() - age.toMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID((millis << 16) | 0x7000L | random.nextLong(0x1000),
+            (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+    }
+
+    private static ProductResponse response(String uuid) {
+        ProductResponse product = new ProductResponse();
+        product.setProductUuid(uuid);
+        return product;
+    }
+}
@@ -0,0 +1,127 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.datasource.ReadYourWrites;
+import com.cloudfullstack.product.datasource.ReplicaHealthIndicator;
+import com.cloudfullstack.product.datasource.ReplicaRoutingDataSource;
+import com.cloudfullstack.product.util.ProductUuids;
+
+import jakarta.servlet.http.Cookie;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two in-memory H2 databases: the primary and a replica that only holds what a test
+// seeds into it, so every read shows which database served it. The second-level cache
+// is off so repeated reads are not answered from memory.
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:product-routing",
+    "spring.r2dbc.url=r2dbc:h2:mem:///product-routing",
+    "product.second-level-cache.enabled=false",
+    "product.datasource.routing-enabled=true",
+    "product.datasource.read-your-writes=5s",
+    "product.datasource.health-check-interval=100ms",
+    "product.datasource.max-lag=1h",
+    "product.datasource.replicas[0].name=replica-1",
+    "product.datasource.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+    "product.datasource.replicas[0].username=sa",
+    "product.datasource.replicas[0].password=password",
+    "product.datasource.replicas[0].copy-schema-from-primary=true"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:product-routing-replica";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaHealthIndicator replicasHealthIndicator;
+
+    // Writes to the replica database directly (its pool hands out read-only connections)
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+
+    @BeforeEach
+    void replicaInSync() {
+        replica.update("MERGE INTO replication_heartbeat KEY (id) VALUES (1, LOCALTIMESTAMP)");
+        await().atMost(TIMEOUT).until(() -> replicaDataSource.getReplicas().get(0).isHealthy());
+    }
+
+    @Test
+    void readOnlyRequest_ShouldBeServedByHealthyReplica() throws Exception {
+        seedReplica("STORE-REPLICA-READ");
+
+        mockMvc.perform(get("/api/v1/products/store/{storeId}", "STORE-REPLICA-READ"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].title").value("Replica Only"));
+        assertEquals(Boolean.FALSE, replicaHealth().getDetails().get("readsOnPrimary"));
+    }
+
+    @Test
+    void readAfterWrite_WithCookie_ShouldStayOnPrimary() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/v1/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Fresh Item\",\"price\":4.50,\"storeId\":\"STORE-STICKY\",\"category\":\"Misc\",\"stock\":2}"))
+            .andExpect(status().isCreated())
+            .andReturn();
+        Cookie pin = created.getResponse().getCookie(ReadYourWrites.COOKIE);
+        assertNotNull(pin);
+
+        // The replica never received the write
+        mockMvc.perform(get("/api/v1/products/store/{storeId}", "STORE-STICKY"))
+            .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/v1/products/store/{storeId}", "STORE-STICKY").cookie(pin))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].title").value("Fresh Item"));
+    }
+
+    @Test
+    void laggingReplica_ShouldBeSkippedAndReportedInHealth() throws Exception {
+        seedReplica("STORE-REPLICA-LAG");
+        replica.update("UPDATE replication_heartbeat SET beat_at = DATEADD('HOUR', -2, LOCALTIMESTAMP) WHERE id = 1");
+        await().atMost(TIMEOUT).until(() -> !replicaDataSource.getReplicas().get(0).isHealthy());
+
+        // Served by the primary, which does not have the replica's row
+        mockMvc.perform(get("/api/v1/products/store/{storeId}", "STORE-REPLICA-LAG"))
+            .andExpect(jsonPath("$.length()").value(0));
+        Health health = replicaHealth();
+        assertEquals(Boolean.TRUE, health.getDetails().get("readsOnPrimary"));
+        assertEquals(Boolean.FALSE, ((Map<?, ?>) health.getDetails().get("replica-1")).get("healthy"));
+    }
+
+    private void seedReplica(String storeId) {
+        replica.update("INSERT INTO products (id, product_uuid, title, price, store_id, category, stock, active, " +
+                "created_at, updated_at) VALUES (NEXT VALUE FOR product_seq, ?, 'Replica Only', 5.00, ?, 'Misc', 3, TRUE, " +
+                "LOCALTIMESTAMP, LOCALTIMESTAMP)",
+            ProductUuids.toBytes(ProductUuids.newUuid()), storeId);
+    }
+
+    private Health replicaHealth() {
+        return replicasHealthIndicator.health();
+    }
+}
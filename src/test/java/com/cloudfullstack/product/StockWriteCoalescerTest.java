@@ -0,0 +1,167 @@
+package com.cloudfullstack.product;
+
+import com.cloudfullstack.product.config.StockCoalescingProperties;
+import com.cloudfullstack.product.service.ProductService;
+import com.cloudfullstack.product.service.StockWriteCoalescer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class StockWriteCoalescerTest {
+
+    private static final String UUID_A = "01890a5d-ac96-774b-bcce-b302099a8057";
+    private static final String UUID_B = "01890a5d-ac96-774b-bcce-b302099a8058";
+    private static final String UUID_C = "01890a5d-ac96-774b-bcce-b302099a8059";
+
+    private ProductService productService;
+    private StockCoalescingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private StockWriteCoalescer coalescer;
+
+    // Every batch handed to setStocks, and the stock each product ended up with
+    private final List<Map<String, Integer>> batches = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> stored = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        properties = new StockCoalescingProperties();
+        properties.setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        when(productService.setStocks(anyMap())).thenAnswer(invocation -> write(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (coalescer != null) {
+            coalescer.destroy();
+        }
+    }
+
+    @Test
+    void submit_WithinWindow_ShouldWriteOnlyTheLastQuantityPerProductOnce() {
+        properties.setWindow(Duration.ofMillis(200));
+        coalescer = coalescer();
+
+        coalescer.submit(UUID_A, 1);
+        coalescer.submit(UUID_B, 2);
+        coalescer.submit(UUID_A, 3);
+
+        assertTrue(batches.isEmpty());
+        await().atMost(Duration.ofSeconds(5)).until(() -> !batches.isEmpty());
+        assertEquals(List.of(Map.of(UUID_A, 3, UUID_B, 2)), batches);
+        assertEquals(3.0, meterRegistry.counter("product.stock.coalescing.received").count());
+        assertEquals(2.0, meterRegistry.counter("product.stock.coalescing.written").count());
+    }
+
+    @Test
+    void submit_AtMaxBatchSize_ShouldFlushWithoutWaitingForTheWindow() {
+        properties.setWindow(Duration.ofHours(1));
+        properties.setMaxBatchSize(2);
+        coalescer = coalescer();
+
+        coalescer.submit(UUID_A, 1);
+        coalescer.submit(UUID_B, 2);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !batches.isEmpty());
+        assertEquals(Map.of(UUID_A, 1, UUID_B, 2), batches.get(0));
+    }
+
+    @Test
+    void submit_WithUppercaseUuid_ShouldBufferTheCanonicalUuid() throws InterruptedException {
+        properties.setWindow(Duration.ofHours(1));
+        coalescer = coalescer();
+
+        coalescer.submit(UUID_A.toUpperCase(), 4);
+        coalescer.submit(UUID_A, 5);
+        coalescer.destroy();
+
+        assertEquals(List.of(Map.of(UUID_A, 5)), batches);
+    }
+
+    @Test
+    void flush_AfterFailure_ShouldRetryWithoutOverwritingNewerSets() {
+        properties.setWindow(Duration.ofMillis(50));
+        coalescer = coalescer();
+        AtomicBoolean failed = new AtomicBoolean();
+        when(productService.setStocks(anyMap())).thenAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                // A newer set arrives while the failing batch is being written
+                coalescer.submit(UUID_A, 9);
+                throw new IllegalStateException("connection reset");
+            }
+            return write(invocation.getArgument(0));
+        });
+
+        coalescer.submit(UUID_A, 1);
+        coalescer.submit(UUID_B, 2);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> stored.size() == 2);
+        assertEquals(Map.of(UUID_A, 9, UUID_B, 2), stored);
+        assertFalse(batches.stream().anyMatch(batch -> Integer.valueOf(1).equals(batch.get(UUID_A))));
+    }
+
+    @Test
+    void flush_WhenOneProductKeepsFailing_ShouldSplitTheBatchAndDropOnlyThatProduct() {
+        properties.setWindow(Duration.ofMillis(20));
+        properties.setMaxAttempts(2);
+        coalescer = coalescer();
+        when(productService.setStocks(anyMap())).thenAnswer(invocation -> {
+            Map<String, Integer> batch = invocation.getArgument(0);
+            if (batch.containsKey(UUID_C)) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return write(batch);
+        });
+
+        coalescer.submit(UUID_A, 1);
+        coalescer.submit(UUID_B, 2);
+        coalescer.submit(UUID_C, 3);
+
+        await().atMost(Duration.ofSeconds(5))
+            .until(() -> meterRegistry.counter("product.stock.coalescing.dropped").count() == 1.0);
+        assertEquals(Map.of(UUID_A, 1, UUID_B, 2), stored);
+        assertEquals(0.0, meterRegistry.get("product.stock.coalescing.pending").gauge().value());
+    }
+
+    @Test
+    void destroy_ShouldFlushBufferedSets() throws InterruptedException {
+        properties.setWindow(Duration.ofHours(1));
+        coalescer = coalescer();
+        coalescer.submit(UUID_A, 7);
+
+        coalescer.destroy();
+
+        assertEquals(Map.of(UUID_A, 7), stored);
+        // Late writes after shutdown are applied on the calling thread
+        coalescer.submit(UUID_B, 8);
+        assertEquals(Map.of(UUID_A, 7, UUID_B, 8), stored);
+    }
+
+    private StockWriteCoalescer coalescer() {
+        return new StockWriteCoalescer(productService, new ConcurrentMapCacheManager(), properties, meterRegistry);
+    }
+
+    private List<String> write(Map<String, Integer> batch) {
+        batches.add(Map.copyOf(batch));
+        stored.putAll(batch);
+        return new ArrayList<>(batch.keySet());
+    }
+}
@@ -0,0 +1,45 @@
+package com.cloudfullstack.product.index;
+
+import com.cloudfullstack.product.util.ProductUuids;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// UuidBloomFilter is package-private, hence this test's package
+class UuidBloomFilterTest {
+
+    private static final int INSERTIONS = 20_000;
+
+    @Test
+    void mightContain_ForEveryInsertedUuid_ShouldBeTrue() {
+        UuidBloomFilter filter = new UuidBloomFilter(INSERTIONS, 0.01);
+        // Consecutive UUIDv7 values differ in few bits, random UUIDs in many
+        List<UUID> uuids = Stream.concat(
+                Stream.generate(ProductUuids::newUuidV7).limit(INSERTIONS / 2),
+                Stream.generate(UUID::randomUUID).limit(INSERTIONS / 2))
+            .toList();
+
+        uuids.forEach(filter::put);
+
+        assertTrue(uuids.stream().allMatch(filter::mightContain));
+        assertEquals(INSERTIONS, filter.insertions());
+    }
+
+    @Test
+    void mightContain_ForUnknownUuids_ShouldStayNearTheTargetRate() {
+        UuidBloomFilter filter = new UuidBloomFilter(INSERTIONS, 0.01);
+        Stream.generate(ProductUuids::newUuidV7).limit(INSERTIONS).forEach(filter::put);
+
+        long falsePositives = Stream.generate(ProductUuids::newUuidV7).limit(INSERTIONS)
+            .filter(filter::mightContain)
+            .count();
+
+        assertTrue(falsePositives < INSERTIONS * 0.02, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.falsePositiveProbability(), 0.005);
+    }
+}